@@ -0,0 +1,231 @@
+package mod.motivationaldragon.potionblender.gametest;
+
+import mod.motivationaldragon.potionblender.block.PotionBlenderBlock;
+import mod.motivationaldragon.potionblender.blockentities.BrewingCauldronBlockEntity;
+import mod.motivationaldragon.potionblender.blockentities.ExplosionThrottle;
+import mod.motivationaldragon.potionblender.item.ModItem;
+import mod.motivationaldragon.potionblender.metrics.PotionBlenderMetrics;
+import net.minecraft.core.BlockPos;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.effect.MobEffectInstance;
+import net.minecraft.world.effect.MobEffects;
+import net.minecraft.world.entity.item.ItemEntity;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+import net.minecraft.world.item.alchemy.Potion;
+import net.minecraft.world.item.alchemy.PotionUtils;
+import net.minecraft.world.item.alchemy.Potions;
+import net.minecraft.world.level.levelgen.structure.BoundingBox;
+import net.minecraft.world.phys.Vec3;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Load test scenarios shared by the Fabric and Forge game test holders.
+ * They run on a headless server: every cauldron interaction goes through the same code path as an item thrown by a player,
+ * and {@link LoadTestProbe} fails the test if the run exceeds its {@link LoadTestBudget}.
+ */
+public class CauldronLoadTests {
+
+    /**
+     * Structure holding the scenarios, an empty 48x8x48 area
+     */
+    public static final String TEMPLATE = "load_test_area";
+    /**
+     * Every scenario has its own batch: tests of a batch run at the same time, and each probe must only measure its own scenario
+     */
+    public static final String INTAKE_BATCH = "potionblender_load_intake";
+    public static final String EXPLOSION_BATCH = "potionblender_load_explosion";
+    public static final String TRACKED_BATCH = "potionblender_load_tracked";
+    public static final String SOAK_BATCH = "potionblender_load_soak";
+    public static final String REPLAY_BATCH = "potionblender_load_replay";
+    public static final int SCALE_TIMEOUT_TICKS = 600;
+    public static final int SOAK_TIMEOUT_TICKS = 24000;
+
+    private static final int AREA_SIZE = 47;
+    private static final int AREA_HEIGHT = 7;
+    private static final int EXPLOSION_SPACING = 4;
+    private static final int TRACKING_PLAYERS = Integer.getInteger("potionblender.loadtest.players", 4);
+    private static final Potion[] POTIONS = {Potions.SWIFTNESS, Potions.STRENGTH, Potions.NIGHT_VISION};
+
+    private CauldronLoadTests(){
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Fill thousands of cauldrons with potions, then craft a combined potion in each of them.
+     * Fails if not every cauldron crafted once before the timeout
+     */
+    public static void intakeAndCraft(GameTestHelper helper) {
+        List<BlockPos> cauldrons = placeCauldrons(helper, 1);
+        LoadTestProbe probe = LoadTestProbe.start(helper, "intake_and_craft", false);
+        long craftsBefore = totalCrafts();
+        long lastDropTick = 1L + POTIONS.length;
+        //While shedding load, intake is deferred and crafts finish on a later tick, so wait for every craft to land
+        boolean[] done = new boolean[1];
+        helper.onEachTick(() -> {
+            probe.sample();
+            if (done[0] || helper.getTick() <= lastDropTick) {return;}
+            long crafts = totalCrafts() - craftsBefore;
+            if (crafts < cauldrons.size()) {return;}
+            done[0] = true;
+            if (crafts != cauldrons.size()) {
+                helper.fail("Expected %d crafts, got %d".formatted(cauldrons.size(), crafts));
+            }
+            helper.killAllEntities();
+            probe.finish(cauldrons.size() * (POTIONS.length + 1), 0);
+            helper.succeed();
+        });
+
+        for (int i = 0; i < POTIONS.length; i++) {
+            Potion potion = POTIONS[i];
+            helper.runAtTickTime(1L + i, () -> cauldrons.forEach(pos -> drop(helper, pos, potion(potion))));
+        }
+        helper.runAtTickTime(lastDropTick, () -> cauldrons.forEach(pos -> drop(helper, pos, new ItemStack(Items.NETHER_WART))));
+    }
+
+    /**
+     * Overload a grid of filled cauldrons so they all explode on the same tick
+     */
+    public static void overloadExplosions(GameTestHelper helper) {
+        List<BlockPos> cauldrons = placeCauldrons(helper, EXPLOSION_SPACING);
+        //Every cauldron must explode on the same tick, explosion_cooldown_ticks would spread them out
+        ExplosionThrottle.suspend(helper.getLevel(), area(helper), SCALE_TIMEOUT_TICKS);
+        LoadTestProbe probe = LoadTestProbe.start(helper, "overload_explosions", false);
+        long explosionsBefore = PotionBlenderMetrics.EXPLOSIONS.sum();
+        long throttledBefore = PotionBlenderMetrics.THROTTLED_EXPLOSIONS.sum();
+        helper.onEachTick(probe::sample);
+
+        helper.runAtTickTime(1, () -> cauldrons.forEach(pos -> drop(helper, pos, potion(Potions.STRENGTH))));
+        helper.runAtTickTime(2, () -> cauldrons.forEach(pos -> drop(helper, pos, combinedPotion())));
+        helper.runAtTickTime(3, () -> {
+            long explosions = PotionBlenderMetrics.EXPLOSIONS.sum() - explosionsBefore;
+            long throttled = PotionBlenderMetrics.THROTTLED_EXPLOSIONS.sum() - throttledBefore;
+            if (explosions != cauldrons.size() || throttled != 0) {
+                helper.fail("Expected %d explosions and none throttled, got %d and %d throttled".formatted(cauldrons.size(), explosions, throttled));
+            }
+            helper.killAllEntities();
+            probe.finish(cauldrons.size() * 2, 0);
+            helper.succeed();
+        });
+    }
+
+    /**
+     * Fill and empty cauldrons while players track the area, to measure the cost of syncing them
+     */
+    public static void trackedArea(GameTestHelper helper) {
+        List<BlockPos> cauldrons = placeCauldrons(helper, 1);
+        LoadTestPlayers players = LoadTestPlayers.join(helper.getLevel(), helper.absolutePos(new BlockPos(AREA_SIZE / 2, 1, AREA_SIZE / 2)), TRACKING_PLAYERS);
+        //Let the players receive the chunks before measuring
+        int start = 20;
+        int changes = cauldrons.size() * (POTIONS.length + 1);
+
+        LoadTestProbe[] probe = new LoadTestProbe[1];
+        helper.onEachTick(() -> {
+            players.drainPackets();
+            if (probe[0] != null) {probe[0].sample();}
+        });
+        helper.runAtTickTime(start, () -> probe[0] = LoadTestProbe.start(helper, "tracked_area", false));
+        for (int i = 0; i < POTIONS.length; i++) {
+            Potion potion = POTIONS[i];
+            helper.runAtTickTime(start + 1L + i, () -> cauldrons.forEach(pos -> drop(helper, pos, potion(potion))));
+        }
+        helper.runAtTickTime(start + 1L + POTIONS.length, () -> cauldrons.forEach(pos -> drop(helper, pos, new ItemStack(Items.NETHER_WART))));
+        //Leave time for batched syncs to be flushed
+        helper.runAtTickTime(start + 2L + POTIONS.length + 200, () -> {
+            helper.killAllEntities();
+            int trackingPlayers = players.size();
+            players.leave();
+            probe[0].finish(changes, trackingPlayers);
+            helper.succeed();
+        });
+    }
+
+    /**
+     * Keep filling and crafting for a long time, then check the heap did not grow
+     */
+    public static void soak(GameTestHelper helper) {
+        List<BlockPos> cauldrons = placeCauldrons(helper, 1);
+        int soakTicks = Math.min(LoadTestBudget.soakTicks(), SOAK_TIMEOUT_TICKS - 100);
+        //Feed a tenth of the cauldrons each tick so the load is spread over the run,
+        //each cauldron gets every potion then a catalyst before starting over
+        int slices = 10;
+        int cycle = POTIONS.length + 1;
+        LoadTestProbe probe = LoadTestProbe.start(helper, "soak", true);
+        int[] changes = new int[1];
+
+        helper.onEachTick(() -> {
+            probe.sample();
+            long tick = helper.getTick();
+            if (tick <= 0 || tick > soakTicks) {return;}
+            int slice = (int) (tick % slices);
+            int step = (int) ((tick / slices) % cycle);
+            ItemStack item = step < POTIONS.length ? potion(POTIONS[step]) : new ItemStack(Items.NETHER_WART);
+            for (int i = slice; i < cauldrons.size(); i += slices) {
+                drop(helper, cauldrons.get(i), item.copy());
+                changes[0]++;
+            }
+            //Crafted potions and bottles are removed as players would pick them up
+            if (step == POTIONS.length && slice == slices - 1) {
+                helper.killAllEntities();
+            }
+        });
+        helper.runAtTickTime(soakTicks + 1L, () -> {
+            helper.killAllEntities();
+            probe.finish(changes[0], 0);
+            helper.succeed();
+        });
+    }
+
+    /**
+     * Place a square grid of cauldrons in the test area
+     * @param spacing the distance between two cauldrons
+     * @return the relative position of every cauldron
+     */
+    private static List<BlockPos> placeCauldrons(GameTestHelper helper, int spacing) {
+        int side = Math.min(AREA_SIZE / spacing, (int) Math.ceil(Math.sqrt(LoadTestBudget.cauldronCount())));
+        int count = spacing == 1 ? Math.min(side * side, LoadTestBudget.cauldronCount()) : side * side;
+        List<BlockPos> cauldrons = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            BlockPos pos = new BlockPos(1 + (i % side) * spacing, 1, 1 + (i / side) * spacing);
+            helper.setBlock(pos, PotionBlenderBlock.BREWING_CAULDRON_BLOCK);
+            cauldrons.add(pos);
+        }
+        return cauldrons;
+    }
+
+    /**
+     * @return the absolute bounds of the test area
+     */
+    private static BoundingBox area(GameTestHelper helper) {
+        return BoundingBox.fromCorners(helper.absolutePos(BlockPos.ZERO), helper.absolutePos(new BlockPos(AREA_SIZE, AREA_HEIGHT, AREA_SIZE)));
+    }
+
+    /**
+     * Spawn an item on top of a cauldron and land it, as if a player had thrown it in
+     */
+    static void drop(GameTestHelper helper, BlockPos pos, ItemStack stack) {
+        ServerLevel level = helper.getLevel();
+        Vec3 spawn = helper.absoluteVec(Vec3.atBottomCenterOf(pos.above()));
+        ItemEntity itemEntity = new ItemEntity(level, spawn.x, spawn.y, spawn.z, stack, 0, 0, 0);
+        level.addFreshEntity(itemEntity);
+        if (helper.getBlockEntity(pos) instanceof BrewingCauldronBlockEntity cauldron) {
+            cauldron.onEntityLandDelegate(itemEntity);
+        }
+    }
+
+    private static ItemStack potion(Potion potion) {
+        return PotionUtils.setPotion(new ItemStack(Items.POTION), potion);
+    }
+
+    private static ItemStack combinedPotion() {
+        return PotionUtils.setCustomEffects(new ItemStack(ModItem.COMBINED_POTION),
+                List.of(new MobEffectInstance(MobEffects.MOVEMENT_SPEED, 200), new MobEffectInstance(MobEffects.DAMAGE_BOOST, 200)));
+    }
+
+    private static long totalCrafts() {
+        return PotionBlenderMetrics.getCraftsPerRecipe().values().stream().mapToLong(Long::longValue).sum();
+    }
+}
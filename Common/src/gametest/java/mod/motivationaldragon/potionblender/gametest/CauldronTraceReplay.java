@@ -0,0 +1,176 @@
+package mod.motivationaldragon.potionblender.gametest;
+
+import mod.motivationaldragon.potionblender.Constants;
+import mod.motivationaldragon.potionblender.block.PotionBlenderBlock;
+import mod.motivationaldragon.potionblender.blockentities.BrewingCauldronBlockEntity;
+import mod.motivationaldragon.potionblender.trace.CauldronTraceReader;
+import mod.motivationaldragon.potionblender.trace.TraceEventType;
+import mod.motivationaldragon.potionblender.trace.TraceRecord;
+import mod.motivationaldragon.potionblender.utils.ModNBTKey;
+import net.minecraft.SharedConstants;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+import net.minecraft.world.item.alchemy.PotionUtils;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Replay a trace recorded with {@code /potionblender trace start} in the load test area, on the same ticks as they were
+ * recorded, and measure it with {@link LoadTestProbe}. The trace is given with {@code -Dpotionblender.replay.trace=<path>},
+ * the test succeeds right away without it.
+ * <p>
+ * Only the dimension with the most records is replayed. Positions are moved so the trace starts at the corner of the
+ * area, cauldrons that do not fit in it are skipped. Syncs are outcomes, not inputs, so they are only counted.
+ */
+public class CauldronTraceReplay {
+
+    private static final String TRACE_PROPERTY = "potionblender.replay.trace";
+    private static final int AREA_SIZE = 47;
+    private static final int AREA_HEIGHT = 7;
+    private static final int CLEANUP_INTERVAL_TICKS = 20;
+
+    private CauldronTraceReplay(){
+        throw new IllegalStateException("Utility class");
+    }
+
+    public static void replay(GameTestHelper helper) {
+        String tracePath = System.getProperty(TRACE_PROPERTY);
+        if (tracePath == null) {
+            Constants.LOG.info("No trace to replay, set -D{} to replay one", TRACE_PROPERTY);
+            helper.succeed();
+            return;
+        }
+
+        CauldronTraceReader.Trace trace;
+        try {
+            trace = CauldronTraceReader.read(Path.of(tracePath));
+        } catch (IOException e) {
+            helper.fail("Could not read trace %s: %s".formatted(tracePath, e.getMessage()));
+            return;
+        }
+        int dataVersion = SharedConstants.getCurrentVersion().getDataVersion().getVersion();
+        if (trace.header().dataVersion() != dataVersion) {
+            Constants.LOG.warn("Trace was recorded with data version {} but this is {}, items may not match",
+                    trace.header().dataVersion(), dataVersion);
+        }
+
+        List<TraceRecord> records = inputsOfBusiestDimension(trace.records());
+        if (records.isEmpty()) {
+            helper.succeed();
+            return;
+        }
+        long syncs = trace.records().stream().filter(r -> r.type() == TraceEventType.SYNC).count();
+
+        BlockPos origin = minPos(records);
+        long startTime = records.get(0).gameTime();
+        long lastTick = Math.min(records.get(records.size() - 1).gameTime() - startTime + 1, CauldronLoadTests.SOAK_TIMEOUT_TICKS - 100L);
+
+        List<TraceRecord> replayed = new ArrayList<>(records.size());
+        Set<BlockPos> cauldrons = new HashSet<>();
+        int skipped = 0;
+        for (TraceRecord record : records) {
+            BlockPos pos = relativePos(record, origin);
+            if (pos == null || record.gameTime() - startTime + 1 > lastTick) {
+                skipped++;
+                continue;
+            }
+            replayed.add(record);
+            cauldrons.add(pos);
+        }
+        if (skipped > 0) {
+            Constants.LOG.warn("Skipped {} records that do not fit in the replay area or time", skipped);
+        }
+        cauldrons.forEach(pos -> helper.setBlock(pos, PotionBlenderBlock.BREWING_CAULDRON_BLOCK));
+
+        LoadTestProbe probe = LoadTestProbe.start(helper, "replay", false);
+        int[] next = new int[1];
+        helper.onEachTick(() -> {
+            probe.sample();
+            long tick = helper.getTick();
+            while (next[0] < replayed.size() && replayed.get(next[0]).gameTime() - startTime + 1 <= tick) {
+                TraceRecord record = replayed.get(next[0]++);
+                apply(helper, record, relativePos(record, origin));
+            }
+            //Crafted potions and dropped bottles are removed as players would pick them up
+            if (tick % CLEANUP_INTERVAL_TICKS == 0) {
+                helper.killAllEntities();
+            }
+        });
+        helper.runAtTickTime(lastTick + 1, () -> {
+            helper.killAllEntities();
+            Constants.LOG.info("Replayed {} interactions on {} cauldrons, {} syncs were recorded", replayed.size(), cauldrons.size(), syncs);
+            probe.finish(replayed.size(), 0);
+            helper.succeed();
+        });
+    }
+
+    private static void apply(GameTestHelper helper, TraceRecord record, BlockPos pos) {
+        switch (record.type()) {
+            case INTAKE -> CauldronLoadTests.drop(helper, pos, PotionUtils.setPotion(
+                    new ItemStack(BuiltInRegistries.ITEM.byId(record.item())), BuiltInRegistries.POTION.byId(record.argument())));
+            case CRAFT -> CauldronLoadTests.drop(helper, pos, new ItemStack(BuiltInRegistries.ITEM.byId(record.item())));
+            case EXPLODE -> {
+                ItemStack combined = new ItemStack(BuiltInRegistries.ITEM.byId(record.item()));
+                if (combined.is(Items.TIPPED_ARROW)) {
+                    combined.getOrCreateTag().putBoolean(ModNBTKey.IS_TIPPED_ARROW_COMBINED_KEY, true);
+                }
+                CauldronLoadTests.drop(helper, pos, combined);
+            }
+            case DROP -> {
+                if (helper.getBlockEntity(pos) instanceof BrewingCauldronBlockEntity cauldron) {
+                    cauldron.onUseDelegate(cauldron.getBlockState(), helper.getLevel(), cauldron.getBlockPos(), helper.makeMockPlayer());
+                }
+            }
+            case SYNC -> {
+                //Not an input
+            }
+        }
+    }
+
+    private static List<TraceRecord> inputsOfBusiestDimension(List<TraceRecord> records) {
+        Map<Integer, Integer> recordsPerDimension = new HashMap<>();
+        records.forEach(r -> recordsPerDimension.merge(r.dimension(), 1, Integer::sum));
+        int dimension = recordsPerDimension.entrySet().stream().max(Map.Entry.comparingByValue()).map(Map.Entry::getKey).orElse(0);
+        return records.stream()
+                .filter(r -> r.dimension() == dimension && r.type() != TraceEventType.SYNC)
+                .sorted(Comparator.comparingLong(TraceRecord::gameTime))
+                .toList();
+    }
+
+    private static BlockPos minPos(List<TraceRecord> records) {
+        int x = Integer.MAX_VALUE;
+        int y = Integer.MAX_VALUE;
+        int z = Integer.MAX_VALUE;
+        for (TraceRecord record : records) {
+            BlockPos pos = BlockPos.of(record.pos());
+            x = Math.min(x, pos.getX());
+            y = Math.min(y, pos.getY());
+            z = Math.min(z, pos.getZ());
+        }
+        return new BlockPos(x, y, z);
+    }
+
+    /**
+     * @return the position of the cauldron in the test area, or null if it does not fit in it
+     */
+    @Nullable
+    private static BlockPos relativePos(TraceRecord record, BlockPos origin) {
+        BlockPos pos = BlockPos.of(record.pos()).subtract(origin).offset(1, 1, 1);
+        if (pos.getX() >= AREA_SIZE || pos.getZ() >= AREA_SIZE || pos.getY() >= AREA_HEIGHT) {
+            return null;
+        }
+        return pos;
+    }
+}
@@ -0,0 +1,104 @@
+package mod.motivationaldragon.potionblender.gametest;
+
+import mod.motivationaldragon.potionblender.blend.CombinedSplashApplier;
+import mod.motivationaldragon.potionblender.item.ModItem;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.effect.MobEffectInstance;
+import net.minecraft.world.effect.MobEffects;
+import net.minecraft.world.entity.EntityType;
+import net.minecraft.world.entity.animal.Pig;
+import net.minecraft.world.entity.projectile.ThrownPotion;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+import net.minecraft.world.item.alchemy.PotionUtils;
+import net.minecraft.world.phys.Vec3;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Check that combined splash potions, applied by {@link CombinedSplashApplier}, affect entities like vanilla splash potions.
+ * A vanilla and a combined splash potion with the same effects land in the middle of two identical groups of mobs,
+ * then the health and effect duration of each pair of mobs are compared.
+ */
+public class CombinedSplashTests {
+
+    public static final String BATCH = "potionblender_splash";
+    public static final int TIMEOUT_TICKS = 100;
+
+    /**
+     * Distances of the mobs from the impact, one per direction so the mobs do not push each other
+     */
+    private static final double[] DISTANCES = {1.5D, 2.2D, 2.9D, 3.6D};
+    private static final Vec3[] DIRECTIONS = {new Vec3(1, 0, 0), new Vec3(-1, 0, 0), new Vec3(0, 0, 1), new Vec3(0, 0, -1)};
+    private static final Vec3 VANILLA_IMPACT = new Vec3(12.5D, 1, 24.5D);
+    private static final Vec3 COMBINED_IMPACT = new Vec3(36.5D, 1, 24.5D);
+    private static final double DROP_HEIGHT = 1.5D;
+
+    private static final int SLOWNESS_DURATION = 1200;
+    /**
+     * Durations are quantized in 32 distance steps
+     */
+    private static final int DURATION_TOLERANCE = SLOWNESS_DURATION / 32 + 1;
+    private static final int CHECK_TICK = 20;
+
+    private CombinedSplashTests(){
+        throw new IllegalStateException("Utility class");
+    }
+
+    public static void matchesVanilla(GameTestHelper helper) {
+        List<Pig> vanillaMobs = spawnMobs(helper, VANILLA_IMPACT);
+        List<Pig> combinedMobs = spawnMobs(helper, COMBINED_IMPACT);
+        dropPotion(helper, VANILLA_IMPACT, splashPotion(new ItemStack(Items.SPLASH_POTION)));
+        dropPotion(helper, COMBINED_IMPACT, splashPotion(new ItemStack(ModItem.COMBINED_SPLASH_POTION)));
+
+        helper.runAtTickTime(CHECK_TICK, () -> {
+            for (int i = 0; i < DISTANCES.length; i++) {
+                Pig vanilla = vanillaMobs.get(i);
+                Pig combined = combinedMobs.get(i);
+                if (vanilla.getHealth() != combined.getHealth()) {
+                    helper.fail("At %.1f blocks, vanilla left %.1f health and combined %.1f".formatted(DISTANCES[i], vanilla.getHealth(), combined.getHealth()));
+                }
+                int vanillaDuration = slownessDuration(vanilla);
+                int combinedDuration = slownessDuration(combined);
+                if (Math.abs(vanillaDuration - combinedDuration) > DURATION_TOLERANCE) {
+                    helper.fail("At %.1f blocks, vanilla slowness lasts %d ticks and combined %d".formatted(DISTANCES[i], vanillaDuration, combinedDuration));
+                }
+            }
+            helper.killAllEntities();
+            helper.succeed();
+        });
+    }
+
+    private static List<Pig> spawnMobs(GameTestHelper helper, Vec3 impact) {
+        List<Pig> mobs = new ArrayList<>(DISTANCES.length);
+        for (int i = 0; i < DISTANCES.length; i++) {
+            mobs.add(helper.spawnWithNoFreeWill(EntityType.PIG, impact.add(DIRECTIONS[i].scale(DISTANCES[i]))));
+        }
+        return mobs;
+    }
+
+    private static ItemStack splashPotion(ItemStack stack) {
+        return PotionUtils.setCustomEffects(stack, List.of(
+                new MobEffectInstance(MobEffects.HARM),
+                new MobEffectInstance(MobEffects.MOVEMENT_SLOWDOWN, SLOWNESS_DURATION)));
+    }
+
+    /**
+     * Drop a potion straight down so it lands on the floor at {@code impact}
+     */
+    private static void dropPotion(GameTestHelper helper, Vec3 impact, ItemStack stack) {
+        ServerLevel level = helper.getLevel();
+        Vec3 spawn = helper.absoluteVec(impact.add(0, DROP_HEIGHT, 0));
+        ThrownPotion potion = new ThrownPotion(level, spawn.x, spawn.y, spawn.z);
+        potion.setItem(stack);
+        potion.setDeltaMovement(0, -0.5D, 0);
+        level.addFreshEntity(potion);
+    }
+
+    private static int slownessDuration(Pig pig) {
+        MobEffectInstance slowness = pig.getEffect(MobEffects.MOVEMENT_SLOWDOWN);
+        return slowness == null ? 0 : slowness.getDuration();
+    }
+}
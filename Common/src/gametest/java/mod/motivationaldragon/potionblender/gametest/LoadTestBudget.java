@@ -0,0 +1,45 @@
+package mod.motivationaldragon.potionblender.gametest;
+
+/**
+ * Limits a load test run must stay under. Read from system properties so CI can tune them without rebuilding:
+ * {@code -Dpotionblender.loadtest.maxMspt=50}
+ *
+ * @param maxMspt maximum average milliseconds per tick
+ * @param maxAllocatedMbPerSecond maximum allocation rate of the server thread
+ * @param maxSyncPacketsPerChange maximum sync packets sent per cauldron change, per tracking player
+ * @param maxEntities maximum number of entities in the level at any point of a run
+ * @param maxHeapGrowthMb maximum heap growth after a soak, measured after a GC
+ */
+public record LoadTestBudget(double maxMspt, double maxAllocatedMbPerSecond, double maxSyncPacketsPerChange,
+                             int maxEntities, long maxHeapGrowthMb) {
+
+    private static final String PREFIX = "potionblender.loadtest.";
+
+    public static LoadTestBudget fromSystemProperties() {
+        return new LoadTestBudget(
+                doubleProperty("maxMspt", 50),
+                doubleProperty("maxAllocatedMbPerSecond", 1024),
+                doubleProperty("maxSyncPacketsPerChange", 1),
+                Integer.getInteger(PREFIX + "maxEntities", 8192),
+                Long.getLong(PREFIX + "maxHeapGrowthMb", 64));
+    }
+
+    /**
+     * @return the number of cauldrons placed by the scale tests
+     */
+    public static int cauldronCount() {
+        return Integer.getInteger(PREFIX + "cauldrons", 2025);
+    }
+
+    /**
+     * @return the duration of the soak test in ticks
+     */
+    public static int soakTicks() {
+        return Integer.getInteger(PREFIX + "soakTicks", 6000);
+    }
+
+    private static double doubleProperty(String name, double fallback) {
+        String value = System.getProperty(PREFIX + name);
+        return value == null ? fallback : Double.parseDouble(value);
+    }
+}
@@ -0,0 +1,79 @@
+package mod.motivationaldragon.potionblender.gametest;
+
+import com.mojang.authlib.GameProfile;
+import io.netty.channel.embedded.EmbeddedChannel;
+import net.minecraft.core.BlockPos;
+import net.minecraft.network.Connection;
+import net.minecraft.network.ConnectionProtocol;
+import net.minecraft.network.PacketEncoder;
+import net.minecraft.network.Varint21LengthFieldPrepender;
+import net.minecraft.network.protocol.PacketFlow;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Fake players joined to the server so the cauldrons of a load test are tracked and synced as on a real server.
+ * Their connections are embedded channels with the vanilla encoder and length prepender: packets are serialized and framed
+ * as on a real connection, then dropped, nothing goes over the network.
+ */
+public class LoadTestPlayers {
+
+    private final MinecraftServer server;
+    private final List<ServerPlayer> players = new ArrayList<>();
+    private final List<EmbeddedChannel> channels = new ArrayList<>();
+
+    private LoadTestPlayers(MinecraftServer server) {
+        this.server = server;
+    }
+
+    /**
+     * Join {@code count} players at {@code center}
+     */
+    public static LoadTestPlayers join(ServerLevel level, BlockPos center, int count) {
+        LoadTestPlayers loadTestPlayers = new LoadTestPlayers(level.getServer());
+        for (int i = 0; i < count; i++) {
+            GameProfile profile = new GameProfile(UUID.randomUUID(), "load_test_" + i);
+            ServerPlayer player = new ServerPlayer(level.getServer(), level, profile);
+            Connection connection = new Connection(PacketFlow.SERVERBOUND);
+            //Outbound packets go through the handlers from the last to the first, as in the vanilla pipeline
+            EmbeddedChannel channel = new EmbeddedChannel(new Varint21LengthFieldPrepender(), new PacketEncoder(PacketFlow.CLIENTBOUND), connection);
+            //The encoder looks packet ids up in the protocol of the connection, which starts in the handshake
+            connection.setProtocol(ConnectionProtocol.PLAY);
+            level.getServer().getPlayerList().placeNewPlayer(connection, player);
+            player.teleportTo(level, center.getX() + 0.5, center.getY() + 2, center.getZ() + 0.5, 0, 90);
+            loadTestPlayers.players.add(player);
+            loadTestPlayers.channels.add(channel);
+        }
+        return loadTestPlayers;
+    }
+
+    public int size() {
+        return players.size();
+    }
+
+    /**
+     * Drop the packets queued on the fake connections, to be called every tick so long runs do not keep them in memory
+     */
+    public void drainPackets() {
+        for (EmbeddedChannel channel : channels) {
+            channel.releaseOutbound();
+        }
+    }
+
+    public void leave() {
+        drainPackets();
+        for (ServerPlayer player : players) {
+            server.getPlayerList().remove(player);
+        }
+        for (EmbeddedChannel channel : channels) {
+            channel.close();
+        }
+        players.clear();
+        channels.clear();
+    }
+}
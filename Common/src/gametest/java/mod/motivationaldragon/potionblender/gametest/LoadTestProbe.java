@@ -0,0 +1,134 @@
+package mod.motivationaldragon.potionblender.gametest;
+
+import mod.motivationaldragon.potionblender.Constants;
+import mod.motivationaldragon.potionblender.metrics.PotionBlenderMetrics;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.entity.Entity;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Measure the cost of a load test run on the server: tick time, entity count, allocation rate of the server thread
+ * and sync packets sent. Started and finished from the server thread.
+ */
+public class LoadTestProbe {
+
+    private static final double BYTES_PER_MB = 1024d * 1024d;
+    private static final double NANOS_PER_MS = 1_000_000d;
+
+    private final GameTestHelper helper;
+    private final LoadTestBudget budget;
+    private final String name;
+    private final boolean checkHeap;
+
+    private final int startTick;
+    private final long startNanos;
+    private final long startAllocatedBytes;
+    private final long startSyncPackets;
+    private final long startHeapBytes;
+
+    private double maxMspt;
+    private int maxEntities;
+
+    private LoadTestProbe(GameTestHelper helper, String name, boolean checkHeap) {
+        this.helper = helper;
+        this.name = name;
+        this.checkHeap = checkHeap;
+        this.budget = LoadTestBudget.fromSystemProperties();
+        this.startTick = server().getTickCount();
+        this.startNanos = System.nanoTime();
+        this.startAllocatedBytes = allocatedBytes();
+        this.startSyncPackets = PotionBlenderMetrics.SYNC_PACKETS.sum();
+        this.startHeapBytes = checkHeap ? usedHeapAfterGc() : 0;
+    }
+
+    /**
+     * @param checkHeap whether heap growth must be checked. Only meaningful for long runs, and forces a GC at the start and end of the run
+     */
+    public static LoadTestProbe start(GameTestHelper helper, String name, boolean checkHeap) {
+        return new LoadTestProbe(helper, name, checkHeap);
+    }
+
+    /**
+     * Sample the tick time and entity count, to be called every tick
+     */
+    public void sample() {
+        maxMspt = Math.max(maxMspt, averageMspt());
+        maxEntities = Math.max(maxEntities, countEntities(helper.getLevel()));
+    }
+
+    public LoadTestBudget getBudget() {
+        return budget;
+    }
+
+    /**
+     * Log the measurements and fail the test if the budget is exceeded
+     * @param changes the number of cauldron changes during the run, used to normalize the packet count
+     * @param trackingPlayers the number of players tracking the cauldrons
+     */
+    public void finish(int changes, int trackingPlayers) {
+        int ticks = Math.max(1, server().getTickCount() - startTick);
+        double seconds = Math.max(1e-9, (System.nanoTime() - startNanos) / (NANOS_PER_MS * 1000d));
+        double allocatedMbPerSecond = (allocatedBytes() - startAllocatedBytes) / BYTES_PER_MB / seconds;
+        long syncPackets = PotionBlenderMetrics.SYNC_PACKETS.sum() - startSyncPackets;
+        double packetsPerChange = changes == 0 || trackingPlayers == 0 ? 0 : (double) syncPackets / changes / trackingPlayers;
+        sample();
+        long heapGrowthMb = checkHeap ? Math.round((usedHeapAfterGc() - startHeapBytes) / BYTES_PER_MB) : 0;
+
+        Constants.LOG.info("[{}] {} ticks, max average MSPT {}, {} MB/s allocated, {} entities at peak, {} sync packets ({} per change and player), heap growth {} MB",
+                name, ticks, "%.2f".formatted(maxMspt), "%.1f".formatted(allocatedMbPerSecond), maxEntities, syncPackets,
+                "%.2f".formatted(packetsPerChange), heapGrowthMb);
+
+        check(maxMspt <= budget.maxMspt(), "average MSPT %.2f over budget %.2f".formatted(maxMspt, budget.maxMspt()));
+        check(allocatedMbPerSecond <= budget.maxAllocatedMbPerSecond(), "allocation rate %.1f MB/s over budget %.1f"
+                .formatted(allocatedMbPerSecond, budget.maxAllocatedMbPerSecond()));
+        check(packetsPerChange <= budget.maxSyncPacketsPerChange(), "%.2f sync packets per change over budget %.2f"
+                .formatted(packetsPerChange, budget.maxSyncPacketsPerChange()));
+        check(maxEntities <= budget.maxEntities(), "%d entities over budget %d".formatted(maxEntities, budget.maxEntities()));
+        check(heapGrowthMb <= budget.maxHeapGrowthMb(), "heap grew by %d MB, over budget %d"
+                .formatted(heapGrowthMb, budget.maxHeapGrowthMb()));
+    }
+
+    private void check(boolean withinBudget, String message) {
+        if (!withinBudget) {
+            helper.fail("[" + name + "] " + message);
+        }
+    }
+
+    private MinecraftServer server() {
+        return helper.getLevel().getServer();
+    }
+
+    private double averageMspt() {
+        return server().getAverageTickTime();
+    }
+
+    private static int countEntities(ServerLevel level) {
+        int count = 0;
+        for (Entity ignored : level.getAllEntities()) {
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * @return the bytes allocated by the current thread, or 0 if the JVM cannot measure it
+     */
+    private static long allocatedBytes() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean hotspotThreads && hotspotThreads.isThreadAllocatedMemorySupported()) {
+            return hotspotThreads.getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return 0;
+    }
+
+    private static long usedHeapAfterGc() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        memory.gc();
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
@@ -2,6 +2,7 @@ package mod.motivationaldragon.potionblender;
 
 import mod.motivationaldragon.potionblender.advancements.PotionBlenderCriterionTrigger;
 import mod.motivationaldragon.potionblender.config.PotionBlender;
+import mod.motivationaldragon.potionblender.metrics.PotionBlenderMetrics;
 
 public class PotionBlenderCommon {
 
@@ -9,6 +10,7 @@ public class PotionBlenderCommon {
     public static void init() {
         PotionBlender.init();
         PotionBlenderCriterionTrigger.init();
+        PotionBlenderMetrics.registerMBean();
     }
 
 }
\ No newline at end of file
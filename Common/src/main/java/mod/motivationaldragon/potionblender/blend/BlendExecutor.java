@@ -0,0 +1,61 @@
+package mod.motivationaldragon.potionblender.blend;
+
+import mod.motivationaldragon.potionblender.config.PotionBlender;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Bounded pool computing large blends off the server thread.
+ * Its size is read from the config when the first large blend is submitted, changing it requires a restart.
+ */
+public class BlendExecutor {
+
+    private static final int QUEUE_SIZE = 256;
+    private static final long KEEP_ALIVE_SECONDS = 30;
+
+    private static volatile ThreadPoolExecutor executor;
+
+    private BlendExecutor(){
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * @return the future result of the blend
+     * @throws RejectedExecutionException if too many blends are already waiting
+     */
+    public static <T> CompletableFuture<T> submit(Supplier<T> blend) {
+        return CompletableFuture.supplyAsync(blend, getExecutor());
+    }
+
+    private static ThreadPoolExecutor getExecutor() {
+        ThreadPoolExecutor current = executor;
+        if (current == null) {
+            synchronized (BlendExecutor.class) {
+                current = executor;
+                if (current == null) {
+                    current = createExecutor(PotionBlender.getConfig().blend_threads);
+                    executor = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    private static ThreadPoolExecutor createExecutor(int threads) {
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(QUEUE_SIZE), runnable -> {
+                    Thread thread = new Thread(runnable, "Potion-Blender blend worker #" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+}
@@ -0,0 +1,140 @@
+package mod.motivationaldragon.potionblender.blend;
+
+import mod.motivationaldragon.potionblender.Constants;
+import mod.motivationaldragon.potionblender.config.PotionBlender;
+import mod.motivationaldragon.potionblender.networking.BlendTableSyncS2CPacket;
+import mod.motivationaldragon.potionblender.platform.Service;
+import mod.motivationaldragon.potionblender.utils.ModNBTKey;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.Tag;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.alchemy.PotionUtils;
+import net.minecraft.world.level.saveddata.SavedData;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per world registry of every distinct blend, saved with the overworld data.
+ * When {@link mod.motivationaldragon.potionblender.config.ConfigInstance#use_blend_registry} is on, combined items
+ * store the id of their blend instead of the full effect list, and {@link BlendTable} resolves it.
+ * Ids already given out keep being resolved if the option is turned off later.
+ * Only used from the server thread.
+ */
+public class BlendRegistry extends SavedData {
+
+    private static final String DATA_NAME = Constants.MOD_ID + "_blends";
+    private static final String BLENDS_KEY = "Blends";
+    private static final String NEXT_ID_KEY = "NextId";
+    private static final String ID_KEY = "Id";
+    private static final String EFFECTS_KEY = "Effects";
+    private static final String COLOR_KEY = "Color";
+
+    @Nullable
+    private static BlendRegistry active;
+    @Nullable
+    private static MinecraftServer activeServer;
+
+    /**
+     * Ids by effect list. Tags compare by content so equal blends share an id
+     */
+    private final Map<ListTag, Integer> idsByEffects = new HashMap<>();
+    private final List<BlendTable.Entry> entries = new ArrayList<>();
+    private int nextId = 1;
+
+    public static void onServerStarted(MinecraftServer server) {
+        ServerLevel overworld = server.overworld();
+        active = overworld.getDataStorage().computeIfAbsent(BlendRegistry::load, BlendRegistry::new, DATA_NAME);
+        activeServer = server;
+        BlendTable.replaceAll(active.entries);
+    }
+
+    public static void onServerStopped() {
+        active = null;
+        activeServer = null;
+        BlendTable.replaceAll(List.of());
+    }
+
+    /**
+     * Send the whole table to a player joining the server
+     */
+    public static void onPlayerJoin(ServerPlayer player) {
+        Service.PLATFORM.sendToPlayer(player, new BlendTableSyncS2CPacket(true, List.copyOf(BlendTable.getEntries())));
+    }
+
+    /**
+     * Replace the custom effects of a combined item by the id of its blend, if the registry is enabled
+     */
+    public static void internEffects(@NotNull ItemStack stack) {
+        CompoundTag tag = stack.getTag();
+        BlendRegistry registry = active;
+        if (registry == null || tag == null || !PotionBlender.getConfig().use_blend_registry
+                || !tag.contains(PotionUtils.TAG_CUSTOM_POTION_EFFECTS, Tag.TAG_LIST)) {
+            return;
+        }
+        ListTag effects = tag.getList(PotionUtils.TAG_CUSTOM_POTION_EFFECTS, Tag.TAG_COMPOUND);
+        int color = tag.contains(PotionUtils.TAG_CUSTOM_POTION_COLOR, Tag.TAG_ANY_NUMERIC)
+                ? tag.getInt(PotionUtils.TAG_CUSTOM_POTION_COLOR)
+                : PotionUtils.getColor(PotionUtils.getCustomEffects(tag));
+        int id = registry.intern(effects, color);
+        tag.remove(PotionUtils.TAG_CUSTOM_POTION_EFFECTS);
+        tag.putInt(ModNBTKey.BLEND_ID_KEY, id);
+    }
+
+    private int intern(ListTag effects, int color) {
+        Integer existing = idsByEffects.get(effects);
+        if (existing != null) {
+            return existing;
+        }
+        BlendTable.Entry entry = BlendTable.copyOf(nextId++, effects, color);
+        add(entry);
+        setDirty();
+        BlendTable.put(entry);
+        if (activeServer != null) {
+            BlendTableSyncS2CPacket packet = new BlendTableSyncS2CPacket(false, List.of(entry));
+            for (ServerPlayer player : activeServer.getPlayerList().getPlayers()) {
+                Service.PLATFORM.sendToPlayer(player, packet);
+            }
+        }
+        return entry.id();
+    }
+
+    private void add(BlendTable.Entry entry) {
+        idsByEffects.put(entry.effects(), entry.id());
+        entries.add(entry);
+    }
+
+    @Override
+    public @NotNull CompoundTag save(@NotNull CompoundTag nbt) {
+        ListTag blends = new ListTag();
+        for (BlendTable.Entry entry : entries) {
+            CompoundTag blend = new CompoundTag();
+            blend.putInt(ID_KEY, entry.id());
+            blend.put(EFFECTS_KEY, entry.effects().copy());
+            blend.putInt(COLOR_KEY, entry.color());
+            blends.add(blend);
+        }
+        nbt.put(BLENDS_KEY, blends);
+        nbt.putInt(NEXT_ID_KEY, nextId);
+        return nbt;
+    }
+
+    private static BlendRegistry load(CompoundTag nbt) {
+        BlendRegistry registry = new BlendRegistry();
+        ListTag blends = nbt.getList(BLENDS_KEY, Tag.TAG_COMPOUND);
+        for (int i = 0; i < blends.size(); i++) {
+            CompoundTag blend = blends.getCompound(i);
+            registry.add(new BlendTable.Entry(blend.getInt(ID_KEY), blend.getList(EFFECTS_KEY, Tag.TAG_COMPOUND), blend.getInt(COLOR_KEY)));
+        }
+        registry.nextId = Math.max(nbt.getInt(NEXT_ID_KEY), registry.entries.size() + 1);
+        return registry;
+    }
+}
@@ -0,0 +1,79 @@
+package mod.motivationaldragon.potionblender.blend;
+
+import mod.motivationaldragon.potionblender.utils.ModNBTKey;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.Tag;
+import net.minecraft.world.item.alchemy.PotionUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * In memory view of the blends of the current world, used to resolve the blend id carried by combined items.
+ * Filled by {@link BlendRegistry} on the server and by {@link mod.motivationaldragon.potionblender.networking.BlendTableSyncS2CPacket}
+ * on clients. The map is replaced as a whole on every change so lookups never lock, blends are rarely added.
+ */
+public class BlendTable {
+
+    /**
+     * @param id the id stored in item stacks
+     * @param effects the custom effects tag of the blend. Shared, must not be modified
+     * @param color the potion color of the blend
+     */
+    public record Entry(int id, ListTag effects, int color) {}
+
+    private static volatile Map<Integer, Entry> entries = Map.of();
+
+    private BlendTable(){
+        throw new IllegalStateException("Utility class");
+    }
+
+    @Nullable
+    public static Entry get(int id) {
+        return entries.get(id);
+    }
+
+    public static Collection<Entry> getEntries() {
+        return entries.values();
+    }
+
+    public static synchronized void put(Entry entry) {
+        Map<Integer, Entry> copy = new HashMap<>(entries);
+        copy.put(entry.id(), entry);
+        entries = Map.copyOf(copy);
+    }
+
+    /**
+     * Replace every entry, when a world is loaded or a client joins a server
+     */
+    public static synchronized void replaceAll(Collection<Entry> newEntries) {
+        Map<Integer, Entry> copy = new HashMap<>();
+        newEntries.forEach(entry -> copy.put(entry.id(), entry));
+        entries = Map.copyOf(copy);
+    }
+
+    /**
+     * @return the custom effects of an item tag, either stored in the tag or resolved from its blend id, null if it has none
+     */
+    @Nullable
+    public static ListTag getEffectsTag(@Nullable CompoundTag itemTag) {
+        if (itemTag == null) {return null;}
+        if (itemTag.contains(PotionUtils.TAG_CUSTOM_POTION_EFFECTS, Tag.TAG_LIST)) {
+            return itemTag.getList(PotionUtils.TAG_CUSTOM_POTION_EFFECTS, Tag.TAG_COMPOUND);
+        }
+        if (itemTag.contains(ModNBTKey.BLEND_ID_KEY, Tag.TAG_INT)) {
+            Entry entry = get(itemTag.getInt(ModNBTKey.BLEND_ID_KEY));
+            return entry == null ? null : entry.effects();
+        }
+        return null;
+    }
+
+    @NotNull
+    static Entry copyOf(int id, ListTag effects, int color) {
+        return new Entry(id, effects.copy(), color);
+    }
+}
@@ -0,0 +1,88 @@
+package mod.motivationaldragon.potionblender.blend;
+
+import net.minecraft.world.effect.MobEffect;
+import net.minecraft.world.effect.MobEffectInstance;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.LivingEntity;
+import net.minecraft.world.entity.projectile.ThrownPotion;
+import net.minecraft.world.phys.AABB;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * Splash impact of combined splash potions, replacing {@code ThrownPotion#applySplash}.
+ * Same rules as vanilla, but the distance falloff of durations is quantized in {@link #BUCKETS} steps and the scaled
+ * durations of every effect are computed once per step instead of once per entity and effect.
+ * Instant effects are cheap and keep the exact falloff, so healing and damage amounts match vanilla.
+ * Instances are still created per entity since an applied effect is ticked and modified by its entity.
+ */
+public class CombinedSplashApplier {
+
+    /**
+     * Splash radius of vanilla potions
+     */
+    private static final double SPLASH_RADIUS = 4.0D;
+    private static final double SPLASH_RADIUS_SQR = SPLASH_RADIUS * SPLASH_RADIUS;
+    /**
+     * Number of distance steps, durations are at most 1/32 of the effect duration off the vanilla value
+     */
+    private static final int BUCKETS = 32;
+    /**
+     * Vanilla does not apply effects that would last 1 second or less
+     */
+    private static final int MIN_DURATION = 20;
+    /**
+     * Not -1, which is {@link MobEffectInstance#INFINITE_DURATION}
+     */
+    private static final int NOT_APPLIED = 0;
+
+    private CombinedSplashApplier(){
+        throw new IllegalStateException("Utility class");
+    }
+
+    public static void applySplash(ThrownPotion potion, List<MobEffectInstance> effects, @Nullable Entity hitEntity) {
+        AABB area = potion.getBoundingBox().inflate(SPLASH_RADIUS, 2.0D, SPLASH_RADIUS);
+        List<LivingEntity> entities = potion.getLevel().getEntitiesOfClass(LivingEntity.class, area);
+        if (entities.isEmpty()) {return;}
+
+        Entity effectSource = potion.getEffectSource();
+        Entity owner = potion.getOwner();
+        //durations[bucket][effect], computed the first time an entity falls in the bucket
+        int[][] durations = new int[BUCKETS + 1][];
+
+        for (LivingEntity living : entities) {
+            if (!living.isAffectedByPotions()) {continue;}
+            double distanceSqr = potion.distanceToSqr(living);
+            if (distanceSqr >= SPLASH_RADIUS_SQR) {continue;}
+
+            double scale = living == hitEntity ? 1.0D : 1.0D - Math.sqrt(distanceSqr) / SPLASH_RADIUS;
+            int bucket = (int) Math.round(scale * BUCKETS);
+            if (durations[bucket] == null) {
+                durations[bucket] = scaledDurations(effects, (double) bucket / BUCKETS);
+            }
+            int[] bucketDurations = durations[bucket];
+
+            for (int i = 0; i < effects.size(); i++) {
+                MobEffectInstance effectInstance = effects.get(i);
+                MobEffect effect = effectInstance.getEffect();
+                if (effect.isInstantenous()) {
+                    effect.applyInstantenousEffect(potion, owner, living, effectInstance.getAmplifier(), scale);
+                } else if (bucketDurations[i] != NOT_APPLIED) {
+                    living.addEffect(new MobEffectInstance(effect, bucketDurations[i], effectInstance.getAmplifier(),
+                            effectInstance.isAmbient(), effectInstance.isVisible()), effectSource);
+                }
+            }
+        }
+    }
+
+    private static int[] scaledDurations(List<MobEffectInstance> effects, double scale) {
+        int[] durations = new int[effects.size()];
+        for (int i = 0; i < effects.size(); i++) {
+            //Like vanilla, infinite effects are kept as they are
+            int duration = effects.get(i).mapDuration(ticks -> (int) (scale * ticks + 0.5D));
+            durations[i] = duration == MobEffectInstance.INFINITE_DURATION || duration > MIN_DURATION ? duration : NOT_APPLIED;
+        }
+        return durations;
+    }
+}
@@ -0,0 +1,81 @@
+package mod.motivationaldragon.potionblender.blend;
+
+import mod.motivationaldragon.potionblender.config.PotionBlender;
+import mod.motivationaldragon.potionblender.metrics.PotionBlenderMetrics;
+import mod.motivationaldragon.potionblender.utils.BlendSignatureHolder;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.util.Mth;
+import net.minecraft.world.entity.AreaEffectCloud;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.phys.AABB;
+import net.minecraft.world.phys.Vec3;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * Merge the cloud of a combined lingering potion into an overlapping cloud with the same effects,
+ * instead of spawning a new cloud that would scan and affect the same entities.
+ * The merged cloud covers the area of both clouds and lives as long as the remaining time of both, within limits.
+ */
+public class LingeringCloudMerger {
+
+    /**
+     * Radius and duration of a vanilla lingering potion cloud
+     */
+    private static final float CLOUD_RADIUS = 3.0F;
+    private static final int CLOUD_DURATION = 600;
+
+    private static final float MAX_MERGED_RADIUS = 8.0F;
+    private static final int MAX_MERGED_REMAINING_TICKS = CLOUD_DURATION * 4;
+    private static final double MAX_HEIGHT_DIFFERENCE = 1.0;
+
+    private LingeringCloudMerger(){
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * @return the signature of a cloud spawned by this potion, null if it has no custom effects
+     */
+    @Nullable
+    public static ListTag signatureOf(ItemStack potion) {
+        return BlendTable.getEffectsTag(potion.getTag());
+    }
+
+    /**
+     * Try to merge the cloud of a potion landing at {@code pos} into an existing cloud
+     * @return true if it was merged, the potion must then not spawn its own cloud
+     */
+    public static boolean tryMerge(Level level, Vec3 pos, ItemStack potion) {
+        if (level.isClientSide() || !PotionBlender.getConfig().merge_lingering_clouds) {return false;}
+        ListTag signature = signatureOf(potion);
+        if (signature == null) {return false;}
+
+        AABB searchArea = new AABB(pos, pos).inflate(MAX_MERGED_RADIUS + CLOUD_RADIUS, MAX_HEIGHT_DIFFERENCE, MAX_MERGED_RADIUS + CLOUD_RADIUS);
+        List<AreaEffectCloud> clouds = level.getEntitiesOfClass(AreaEffectCloud.class, searchArea,
+                cloud -> cloud.isAlive() && signature.equals(((BlendSignatureHolder) cloud).potionblender$getBlendSignature()));
+
+        for (AreaEffectCloud cloud : clouds) {
+            double horizontalDistance = Math.sqrt(Mth.square(cloud.getX() - pos.x) + Mth.square(cloud.getZ() - pos.z));
+            if (horizontalDistance < cloud.getRadius() + CLOUD_RADIUS) {
+                merge(cloud);
+                PotionBlenderMetrics.CLOUDS_MERGED.increment();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void merge(AreaEffectCloud cloud) {
+        //Area of the merged cloud is the sum of both areas
+        float radius = Math.min((float) Math.sqrt(Mth.square(cloud.getRadius()) + Mth.square(CLOUD_RADIUS)), MAX_MERGED_RADIUS);
+        int remainingTicks = Math.max(0, cloud.getWaitTime() + cloud.getDuration() - cloud.tickCount);
+        int mergedRemaining = Math.min(remainingTicks + CLOUD_DURATION, MAX_MERGED_REMAINING_TICKS);
+
+        cloud.setRadius(radius);
+        cloud.setDuration(mergedRemaining + cloud.tickCount - cloud.getWaitTime());
+        //Shrink to nothing at the end of its life, like a fresh cloud
+        cloud.setRadiusPerTick(-radius / mergedRemaining);
+    }
+}
@@ -0,0 +1,129 @@
+package mod.motivationaldragon.potionblender.blend;
+
+import mod.motivationaldragon.potionblender.utils.ModUtils;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.effect.MobEffect;
+import net.minecraft.world.effect.MobEffectInstance;
+import net.minecraft.world.item.alchemy.PotionUtils;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+
+/**
+ * Compute the effects and color of a combined potion.
+ * Only reads the effects it is given and allocates new ones, so it can run on any thread.
+ */
+public class PotionBlend {
+
+    /**
+     * Order of the effects of a crafted potion, so the same ingredients give the same item whatever order they were added in.
+     * Effects are compared by registry key rather than numeric id, which can change between modpacks.
+     */
+    private static final Comparator<MobEffectInstance> CANONICAL_ORDER = Comparator
+            .comparing((MobEffectInstance effect) -> BuiltInRegistries.MOB_EFFECT.getKey(effect.getEffect()),
+                    Comparator.nullsLast(ResourceLocation::compareTo))
+            .thenComparingInt(MobEffectInstance::getAmplifier)
+            .thenComparingInt(MobEffectInstance::getDuration);
+
+    private PotionBlend(){
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * @param effects the effects of the crafted potion
+     * @param color the color of the crafted potion
+     */
+    public record Result(List<MobEffectInstance> effects, int color) {}
+
+    /**
+     * @param effects the effects of every potion in the cauldron. Not modified
+     * @param lingering whether the result is a lingering potion
+     */
+    @NotNull
+    public static Result blend(List<MobEffectInstance> effects, boolean lingering) {
+        List<MobEffectInstance> finalPotionStatusEffects = mergeCombinableEffects(effects);
+        if (lingering) {
+            finalPotionStatusEffects = handleLingeringPotions(finalPotionStatusEffects);
+        }
+        finalPotionStatusEffects.sort(CANONICAL_ORDER);
+        return new Result(List.copyOf(finalPotionStatusEffects), PotionUtils.getColor(finalPotionStatusEffects));
+    }
+
+    /**
+     * Merge same effects in a potion. For instance poison 30sec and poison 40sec merge both effect into poison 70sec instead
+     */
+    private static List<MobEffectInstance>  mergeCombinableEffects(List<MobEffectInstance> effectInstances) {
+
+        Collection<MobEffect> mergedStatusEffects = new HashSet<>();
+        List<MobEffectInstance> finalPotionStatusEffects = new ArrayList<>(effectInstances);
+
+        // The tricky part here is that a potion type share 1 MobEffectInstance, making it impossible to differentiate them using ==
+        // Therefore to test if effectInstance1 == effectInstance2 we use a range based for loop and test indices
+        // This is otherwise a simple double iteration where we remember if we have already seen an effect type
+        for(int i=0; i<finalPotionStatusEffects.size(); i++ ){
+            MobEffectInstance effectInstance1 = finalPotionStatusEffects.get(i);
+
+            List<MobEffectInstance> combinableEffects = new ArrayList<>();
+
+            int totalDuration = effectInstance1.getDuration();
+            //Effect are always combinable with themselves
+            combinableEffects.add(effectInstance1);
+
+            //This is the inversely proportional gain. First added potion has 1/2 the duration, 2nd 1/3, 3rd 1/4
+            //decay = 1/potionDecay
+            int potionDecay = 2;
+
+            for(int j=0; j<finalPotionStatusEffects.size(); j++ ){
+                MobEffectInstance effectInstance2 = finalPotionStatusEffects.get(j);
+
+                if(i!=j && !mergedStatusEffects.contains(effectInstance1.getEffect()) && areEffectsDurationsAddable(effectInstance1, effectInstance2)){
+                    totalDuration += (1.0d / potionDecay) * effectInstance2.getDuration();
+                    potionDecay++;
+                    combinableEffects.add(effectInstance2);
+                }
+            }
+
+            mergedStatusEffects.add(effectInstance1.getEffect());
+
+            if(combinableEffects.size() > 1){
+                MobEffectInstance combinedEffect = ModUtils.copyEffectWithNewDuration(combinableEffects.get(0), totalDuration);
+                finalPotionStatusEffects.removeAll(combinableEffects);
+                finalPotionStatusEffects.add(combinedEffect);
+            }
+        }
+        return finalPotionStatusEffects;
+    }
+
+
+    /** Handle lingering potion lesser duration and potency combination
+     Quoting <a href="https://minecraft.fandom.com/wiki/Lingering_Potion">https://minecraft.fandom.com/wiki/Lingering_Potion</a>:
+     "For finalPotionStatusEffects with duration, the duration applied by the cloud is 1⁄4 that of the corresponding potion."
+     "For finalPotionStatusEffects without duration such as healing or harming, the potency of the effect is 1⁄2 that of the corresponding potion"
+     **/
+    @NotNull
+    private static List<MobEffectInstance> handleLingeringPotions(List<MobEffectInstance> finalPotionStatusEffects) {
+        List<MobEffectInstance> lingeringEffects = new ArrayList<>(finalPotionStatusEffects.size());
+        for (MobEffectInstance effectInstance : finalPotionStatusEffects){
+            if(effectInstance.getEffect().isInstantenous()){
+                //We are using the full constructor to copy effect witch is why the call is so long
+                lingeringEffects.add(new MobEffectInstance(effectInstance.getEffect(), effectInstance.getDuration(),
+                        Math.round(effectInstance.getAmplifier()*0.5f),
+                        effectInstance.isAmbient(), effectInstance.isVisible(),effectInstance.showIcon()));
+            } else {
+                lingeringEffects.add(ModUtils.copyEffectWithNewDuration(effectInstance, Math.round(effectInstance.getDuration() * 0.25f)));
+            }
+
+        }
+        return lingeringEffects;
+    }
+
+    private static boolean areEffectsDurationsAddable(MobEffectInstance effectInstance1, MobEffectInstance effectInstance2) {
+        return effectInstance1.getEffect() == effectInstance2.getEffect() &&
+                effectInstance1.getAmplifier() == effectInstance2.getAmplifier();
+    }
+}
@@ -1,24 +1,30 @@
 package mod.motivationaldragon.potionblender.block;
 
 import mod.motivationaldragon.potionblender.blockentities.BrewingCauldronBlockEntity;
+import mod.motivationaldragon.potionblender.config.ConfigInstance;
+import mod.motivationaldragon.potionblender.config.PotionBlender;
 import mod.motivationaldragon.potionblender.platform.Service;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
 import net.minecraft.core.particles.DustParticleOptions;
 import net.minecraft.core.particles.ParticleOptions;
 import net.minecraft.core.particles.ParticleTypes;
+import net.minecraft.server.level.ServerLevel;
 import net.minecraft.sounds.SoundEvents;
 import net.minecraft.sounds.SoundSource;
 import net.minecraft.util.RandomSource;
 import net.minecraft.world.InteractionHand;
 import net.minecraft.world.InteractionResult;
 import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.item.ItemEntity;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.item.context.BlockPlaceContext;
 import net.minecraft.world.level.BlockGetter;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.*;
 import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.block.entity.BlockEntityTicker;
+import net.minecraft.world.level.block.entity.BlockEntityType;
 import net.minecraft.world.level.block.state.BlockBehaviour;
 import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.level.block.state.StateDefinition;
@@ -42,6 +48,12 @@ public class BrewingCauldron extends Block implements EntityBlock {
     public static final BooleanProperty REDRAW_DUMMY = BooleanProperty.create("redraw");
 
     private static final VoxelShape INSIDE = box(2.0, 8.0, 2.0, 14.0, 16.0, 14.0);
+    /**
+     * Particles spawned by all cauldrons during the current client tick, see {@link ConfigInstance#particle_budget}
+     */
+    private static int particlesThisTick;
+    private static long particleBudgetGameTime;
+
     protected static final VoxelShape SHAPE = Shapes.join(Shapes.block(), Shapes.or(box(0.0, 0.0, 4.0, 16.0, 3.0, 12.0),
             box(4.0, 0.0, 0.0, 12.0, 3.0, 16.0), box(2.0, 0.0, 2.0, 14.0, 3.0, 14.0), INSIDE), BooleanOp.ONLY_FIRST);
 
@@ -73,6 +85,14 @@ public class BrewingCauldron extends Block implements EntityBlock {
         return InteractionResult.SUCCESS;
     }
 
+    @Override
+    public void tick(@NotNull BlockState state, @NotNull ServerLevel world, @NotNull BlockPos pos, @NotNull RandomSource random) {
+        BrewingCauldronBlockEntity brewingCauldronBlockEntity = tryGetBlockEntity(world, pos);
+        if (brewingCauldronBlockEntity != null) {
+            brewingCauldronBlockEntity.onScheduledTick();
+        }
+    }
+
     @Override
     @NotNull
     public BlockState getStateForPlacement( BlockPlaceContext ctx) {
@@ -86,10 +106,11 @@ public class BrewingCauldron extends Block implements EntityBlock {
             world.playSound(null, pos.getX() + 0.5, pos.getY() + 0.5, pos.getZ() + 0.5, SoundEvents.CAMPFIRE_CRACKLE, SoundSource.BLOCKS, 0.5f + random.nextFloat(), random.nextFloat() * 0.7f + 0.6f);
         }
 
+        if (!tryConsumeParticleBudget(world, 2)) {return;}
         createDisplayParticles(world, pos, random, state.getValue(FACING));
         createDisplayParticles(world, pos, random, state.getValue(FACING).getOpposite());
 
-        if (state.getValue(HAS_FLUID)){
+        if (state.getValue(HAS_FLUID) && tryConsumeParticleBudget(world, 1)){
             BrewingCauldronBlockEntity brewingCauldronBlockEntity = tryGetBlockEntity(world, pos);
             if(brewingCauldronBlockEntity != null) {
                 int color = brewingCauldronBlockEntity.getWaterColor();
@@ -104,6 +125,23 @@ public class BrewingCauldron extends Block implements EntityBlock {
 
     }
 
+    /**
+     * Share the particle budget between every cauldron animated during a client tick
+     * @return true if {@code count} particles can be spawned
+     */
+    private static boolean tryConsumeParticleBudget(Level world, int count) {
+        long gameTime = world.getGameTime();
+        if (gameTime != particleBudgetGameTime) {
+            particleBudgetGameTime = gameTime;
+            particlesThisTick = 0;
+        }
+        if (particlesThisTick + count > PotionBlender.getConfig().particle_budget) {
+            return false;
+        }
+        particlesThisTick += count;
+        return true;
+    }
+
     private static void createDisplayParticles(Level world, BlockPos pos, RandomSource random, Direction direction) {
         Direction.Axis axis = direction.getAxis();
 
@@ -149,6 +187,8 @@ public class BrewingCauldron extends Block implements EntityBlock {
         BrewingCauldronBlockEntity brewingCauldronBlockEntity = tryGetBlockEntity(entity.getLevel(),entity.blockPosition());
         if(brewingCauldronBlockEntity != null && !entity.getLevel().isClientSide()) {
                 brewingCauldronBlockEntity.onEntityLandDelegate(entity);
+        } else if (brewingCauldronBlockEntity != null && entity instanceof ItemEntity itemEntity) {
+                brewingCauldronBlockEntity.predictPotionLanding(itemEntity);
         }
         super.fallOn(world, blockState, pos, entity, speed);
     }
@@ -167,6 +207,16 @@ public class BrewingCauldron extends Block implements EntityBlock {
 
     }
 
+    /**
+     * Client side only, expires the predicted tints, see {@link BrewingCauldronBlockEntity#predictPotionLanding}
+     */
+    @Nullable
+    @Override
+    public <T extends BlockEntity> BlockEntityTicker<T> getTicker(@NotNull Level world, @NotNull BlockState state, @NotNull BlockEntityType<T> type) {
+        if (!world.isClientSide() || type != Service.PLATFORM.getPlatformBrewingCauldron()) {return null;}
+        return (tickerWorld, pos, tickerState, blockEntity) -> ((BrewingCauldronBlockEntity) blockEntity).clientTick();
+    }
+
     @Nullable
     @Override
     public BlockEntity newBlockEntity(@NotNull BlockPos pos, @NotNull BlockState state) {
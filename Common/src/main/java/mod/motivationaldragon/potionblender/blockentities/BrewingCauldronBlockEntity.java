@@ -4,27 +4,43 @@ package mod.motivationaldragon.potionblender.blockentities;
 
 import mod.motivationaldragon.potionblender.Constants;
 import mod.motivationaldragon.potionblender.advancements.CauldronExplosionTrigger;
+import mod.motivationaldragon.potionblender.blend.BlendExecutor;
+import mod.motivationaldragon.potionblender.blend.BlendRegistry;
+import mod.motivationaldragon.potionblender.blend.PotionBlend;
 import mod.motivationaldragon.potionblender.block.BrewingCauldron;
 import mod.motivationaldragon.potionblender.platform.Service;
+import mod.motivationaldragon.potionblender.profiling.CauldronProfiler;
+import mod.motivationaldragon.potionblender.profiling.RetainedSizeEstimator;
+import mod.motivationaldragon.potionblender.profiling.jfr.CauldronCraftEvent;
+import mod.motivationaldragon.potionblender.profiling.jfr.CauldronExplosionEvent;
+import mod.motivationaldragon.potionblender.profiling.jfr.CauldronIntakeEvent;
+import mod.motivationaldragon.potionblender.config.ConfigInstance;
 import mod.motivationaldragon.potionblender.config.PotionBlender;
 import mod.motivationaldragon.potionblender.item.ModItem;
+import mod.motivationaldragon.potionblender.metrics.PotionBlenderMetrics;
+import mod.motivationaldragon.potionblender.networking.CauldronSyncInterest;
+import mod.motivationaldragon.potionblender.trace.CauldronTraceRecorder;
+import mod.motivationaldragon.potionblender.trace.TraceEventType;
 import mod.motivationaldragon.potionblender.utils.ModNBTKey;
-import mod.motivationaldragon.potionblender.utils.ModUtils;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.NonNullList;
+import net.minecraft.core.particles.ParticleTypes;
+import net.minecraft.core.registries.BuiltInRegistries;
 import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.Tag;
 import net.minecraft.network.protocol.Packet;
 import net.minecraft.network.protocol.game.ClientGamePacketListener;
 import net.minecraft.network.protocol.game.ClientboundBlockEntityDataPacket;
+import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.sounds.SoundEvents;
 import net.minecraft.sounds.SoundSource;
 import net.minecraft.world.ContainerHelper;
 import net.minecraft.world.Containers;
-import net.minecraft.world.effect.MobEffect;
 import net.minecraft.world.effect.MobEffectInstance;
 import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.ai.attributes.Attributes;
 import net.minecraft.world.entity.item.ItemEntity;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.item.Item;
@@ -35,16 +51,40 @@ import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.Block;
 import net.minecraft.world.level.block.entity.BlockEntity;
 import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.levelgen.structure.BoundingBox;
 import net.minecraft.world.phys.AABB;
+import net.minecraft.world.phys.Vec3;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
+import java.util.concurrent.RejectedExecutionException;
 
 public abstract class BrewingCauldronBlockEntity extends BlockEntity {
 
+    /**
+     * Key of the potion count in the legacy save layout. Only read, see {@link CauldronContentsCodec}
+     */
     private static final String POTION_MIXER_KEY = Constants.MOD_ID+".PotionBlender";
 
+    /**
+     * Key of the visual state in the tag sent to clients, see {@link #getUpdateTag()}
+     */
+    private static final String VISUAL_STATE_KEY = "Visual";
+
+    private static final long NOT_SCHEDULED = Long.MAX_VALUE;
+
+    /**
+     * Inventory shared by every empty cauldron. It has no slot so it can never be modified,
+     * a cauldron gets its own inventory when the first potion is added, see {@link #allocateInventory()}
+     */
+    private static final StoredPotion[] EMPTY_INVENTORY = new StoredPotion[0];
+
+    /**
+     * Snapshot shared by every empty cauldron. Snapshots are never modified and {@link #saveAdditional} copies them
+     */
+    private static final CompoundTag EMPTY_CONTENTS = CauldronContentsCodec.encode(EMPTY_INVENTORY, 0, ColorMix.EMPTY);
+
     /**
      * Hard coded recipe for the cauldron.
      *
@@ -58,6 +98,13 @@ public abstract class BrewingCauldronBlockEntity extends BlockEntity {
      */
     private static final int ITEM_DROP_OFFSET = 1;
 
+    private static final float EXPLOSION_RADIUS = 1.5F;
+
+    /**
+     * Distance from the cauldron within which players get the explosion advancement
+     */
+    private static final int EXPLOSION_PLAYER_RANGE = 5;
+
     static {
         recipes.put(Items.NETHER_WART, ModItem.COMBINED_POTION);
         recipes.put(Items.GUNPOWDER, ModItem.COMBINED_SPLASH_POTION);
@@ -67,32 +114,176 @@ public abstract class BrewingCauldronBlockEntity extends BlockEntity {
 
 
     /**
-     * The cauldron inventory. It is mean to only contain potion
+     * The potions in the cauldron, the first {@link #numberOfPotion} slots are filled.
+     * Their stacks are only rebuilt when they are dropped, see {@link StoredPotion}.
+     * {@link #EMPTY_INVENTORY} while the cauldron is empty, most placed cauldrons never hold anything
      */
-    private NonNullList<ItemStack> inventory;
+    private StoredPotion[] inventory = EMPTY_INVENTORY;
     /**
      * The current amount of potion in the cauldron. Useful since the inventory size is constant
      */
     private int numberOfPotion;
 
+    /**
+     * The number of potion the cauldron can hold, see {@link ConfigInstance#max_effects}
+     */
+    private final int capacity;
+
+    /**
+     * Content tag read from disk that has not been decoded yet.
+     * Most loaded cauldrons are never touched, so the potions are only decoded on first access to the inventory,
+     * and an untouched cauldron writes this tag back as is.
+     * Null once the inventory has been materialized.
+     */
+    @Nullable
+    private CompoundTag pendingContents;
+
+    /**
+     * True if the contents were saved by a newer version of the mod. They are written back untouched
+     * and the cauldron ignores every interaction, so the potions are not lost when going back to that version
+     */
+    private boolean unsupportedContents;
+
+    /**
+     * Encoded contents, published on the server thread after every change and never modified afterwards.
+     * {@link #saveAdditional} only reads this tag, so the cauldron can be saved from a chunk IO thread
+     * while the server thread keeps changing the live inventory.
+     */
+    private volatile CompoundTag contentsSnapshot = EMPTY_CONTENTS;
+
+    /**
+     * Color mix computed from the inventory, or null when it must be recomputed
+     */
+    @Nullable
+    private ColorMix cachedMix;
+
+    /**
+     * Client side only: the state received from the server. The client never holds the potions themselves.
+     */
+    @Nullable
+    private CauldronVisualState clientVisualState;
+
+    /**
+     * Client side only: the state shown while the server has not confirmed that a potion landed in the cauldron was added,
+     * see {@link #predictPotionLanding}
+     */
+    @Nullable
+    private CauldronVisualState predictedVisualState;
+    private long predictionExpiryGameTime;
+
+    /**
+     * Game time of the batched client sync, or {@link #NOT_SCHEDULED}, see {@link ConfigInstance.SyncMode#BATCHED}
+     */
+    private long syncGameTime = NOT_SCHEDULED;
+
+    /**
+     * Game time from which the next potion can be added, see {@link ConfigInstance#intake_cooldown_ticks}
+     */
+    private long nextIntakeGameTime;
+
+    /**
+     * Game time at which the items resting in the cauldron are handled again, or {@link #NOT_SCHEDULED}.
+     * {@link BrewingCauldron#fallOn} only fires when an item lands, so an item refused for a temporary reason
+     * would otherwise stay in the cauldron for good
+     */
+    private long restingItemsRecheckGameTime = NOT_SCHEDULED;
+
+    /**
+     * Game time of the pending scheduled tick of the block, or {@link #NOT_SCHEDULED}.
+     * A block has a single scheduled tick per position, shared by the sync and the recheck, see {@link #scheduleTickAt}
+     */
+    private long scheduledTickGameTime = NOT_SCHEDULED;
+
+    /**
+     * True while a combined potion is blended on a worker thread. The contents are locked until the result is applied
+     */
+    private boolean brewing;
+
+    /**
+     * Incremented on every change of the contents, used to discard blends computed from outdated contents
+     */
+    private int contentsVersion;
+
     protected BrewingCauldronBlockEntity(BlockPos pos, BlockState state) {
         super(Service.PLATFORM.getPlatformBrewingCauldron(), pos, state);
-        this.inventory = NonNullList.withSize(PotionBlender.getConfig().max_effects, ItemStack.EMPTY);
+        this.capacity = PotionBlender.getConfig().max_effects;
         this.numberOfPotion = 0;
     }
 
+    /**
+     * @return new stacks of the potions in the cauldron. Changing them does not change the cauldron
+     */
     public NonNullList<ItemStack> getInventory() {
-        return inventory;
+        materializeInventory();
+        NonNullList<ItemStack> stacks = NonNullList.withSize(capacity, ItemStack.EMPTY);
+        for (int i = 0; i < numberOfPotion && i < inventory.length; i++) {
+            stacks.set(i, inventory[i].toStack());
+        }
+        return stacks;
     }
 
+    /**
+     * Decode the potions of a cauldron loaded from disk, if not already done
+     */
+    private void materializeInventory() {
+        if (pendingContents == null) {return;}
+        CompoundTag contents = pendingContents;
+        pendingContents = null;
+        List<StoredPotion> potions = CauldronContentsCodec.decode(contents, capacity);
+        numberOfPotion = potions.size();
+        inventory = EMPTY_INVENTORY;
+        if (numberOfPotion > 0) {
+            allocateInventory();
+            potions.toArray(inventory);
+        }
+    }
+
+    /**
+     * Give this cauldron its own inventory if it still uses the shared empty one
+     */
+    private void allocateInventory() {
+        if (inventory == EMPTY_INVENTORY) {
+            inventory = new StoredPotion[capacity];
+        }
+    }
+
+
+    /**
+     * @return an estimate of the heap retained by the content of this cauldron, see {@link RetainedSizeEstimator}
+     */
+    public long estimateRetainedBytes() {
+        if (pendingContents != null) {
+            return RetainedSizeEstimator.estimate(pendingContents);
+        }
+        return RetainedSizeEstimator.estimate(inventory, numberOfPotion);
+    }
+
+    /**
+     * @return the number of potion in the cauldron
+     */
+    public int getNumberOfPotion() {
+        return numberOfPotion;
+    }
 
     public int size() {
-        return this.inventory.size();
+        return capacity;
+    }
+
+    /**
+     * Encode the current contents into a new {@link #contentsSnapshot}
+     */
+    private void publishSnapshot() {
+        contentsSnapshot = numberOfPotion == 0 ? EMPTY_CONTENTS : CauldronContentsCodec.encode(inventory, numberOfPotion, getColorMix());
     }
 
     private void emptyCauldron(@NotNull Level level){
-        inventory.clear();
+        pendingContents = null;
+        inventory = EMPTY_INVENTORY;
         numberOfPotion = 0;
+        cachedMix = null;
+        contentsVersion++;
+        publishSnapshot();
+        updateIndex();
 
         BlockState hasFluid = level.getBlockState(this.getBlockPos()).setValue(BrewingCauldron.HAS_FLUID, false);
         level.setBlockAndUpdate(this.getBlockPos(), hasFluid);
@@ -101,9 +292,105 @@ public abstract class BrewingCauldronBlockEntity extends BlockEntity {
 
     private void updateListeners() {
         this.setChanged();
-        syncInventoryWithClient();
+        ConfigInstance config = PotionBlender.getConfig();
+        if (LoadGovernor.isShedding()) {
+            scheduleClientSync(Math.max(config.sync_interval_ticks, LoadGovernor.SHEDDING_SYNC_INTERVAL_TICKS));
+        } else if (config.sync_mode == ConfigInstance.SyncMode.BATCHED) {
+            scheduleClientSync(config.sync_interval_ticks);
+        } else {
+            notifyClients();
+        }
+    }
+
+    private void notifyClients() {
+        if (!(this.getLevel() instanceof ServerLevel serverLevel)) {return;}
+        long profileStart = CauldronProfiler.enter();
+        syncInventoryWithClient(CauldronSyncInterest.selectTargets(this, serverLevel));
+        CauldronProfiler.exit(profileStart, CauldronProfiler.Operation.SYNC, this, null);
+        //Only build the payload size while recording, like the JFR events check shouldCommit
+        if (CauldronTraceRecorder.isRecording()) {
+            CauldronTraceRecorder.record(TraceEventType.SYNC, this, 0, Long.BYTES + getVisualState().encodedSize());
+        }
+        //A block update sends the block entity data to every player tracking the chunk, which the sync radius avoids.
+        //The sync packet already re-renders the block on the client
+        if (!CauldronSyncInterest.isEnabled()) {
+            serverLevel.sendBlockUpdated(this.getBlockPos(), this.getBlockState(), this.getBlockState(), Block.UPDATE_NEIGHBORS);
+        }
+    }
+
+    /**
+     * Send the current state to the given players, used to catch up players that were out of the sync radius
+     */
+    public void syncWith(List<ServerPlayer> players) {
+        syncInventoryWithClient(players);
+    }
+
+    /**
+     * Coalesce every change made in the next {@code delay} ticks into a single client sync
+     */
+    private void scheduleClientSync(int delay) {
+        if (syncGameTime != NOT_SCHEDULED) {return;}
         assert this.getLevel() != null;
-        this.getLevel().sendBlockUpdated(this.getBlockPos(), this.getBlockState(), this.getBlockState(), Block.UPDATE_NEIGHBORS);
+        syncGameTime = this.getLevel().getGameTime() + delay;
+        scheduleTickAt(syncGameTime);
+    }
+
+    /**
+     * Delegation from the scheduled tick of {@link BrewingCauldron}
+     */
+    public void onScheduledTick() {
+        if (level == null) {return;}
+        scheduledTickGameTime = NOT_SCHEDULED;
+        long gameTime = level.getGameTime();
+        if (syncGameTime <= gameTime) {
+            syncGameTime = NOT_SCHEDULED;
+            notifyClients();
+        }
+        if (restingItemsRecheckGameTime <= gameTime) {
+            restingItemsRecheckGameTime = NOT_SCHEDULED;
+            recheckRestingItems();
+        }
+        long nextGameTime = Math.min(syncGameTime, restingItemsRecheckGameTime);
+        if (nextGameTime != NOT_SCHEDULED) {
+            scheduleTickAt(nextGameTime);
+        }
+    }
+
+    /**
+     * Handle the items resting in the cauldron again in {@code delay} ticks, unless they are already handled sooner
+     */
+    private void scheduleRestingItemsRecheck(long delay) {
+        assert level != null;
+        long recheckGameTime = level.getGameTime() + Math.max(1, delay);
+        if (recheckGameTime >= restingItemsRecheckGameTime) {return;}
+        restingItemsRecheckGameTime = recheckGameTime;
+        scheduleTickAt(recheckGameTime);
+    }
+
+    /**
+     * Make sure the block ticks at {@code gameTime} or sooner. The tick then schedules the next one still needed.
+     * A block has a single scheduled tick per position and a new one is dropped while another is pending,
+     * so a later pending tick is cleared first
+     */
+    private void scheduleTickAt(long gameTime) {
+        if (!(level instanceof ServerLevel serverLevel) || gameTime >= scheduledTickGameTime) {return;}
+        BlockPos pos = this.getBlockPos();
+        if (scheduledTickGameTime != NOT_SCHEDULED) {
+            serverLevel.getBlockTicks().clearArea(new BoundingBox(pos));
+        }
+        scheduledTickGameTime = gameTime;
+        serverLevel.scheduleTick(pos, this.getBlockState().getBlock(), (int) Math.max(1, gameTime - serverLevel.getGameTime()));
+    }
+
+    private void recheckRestingItems() {
+        assert level != null;
+        BlockPos pos = this.getBlockPos();
+        for (ItemEntity itemEntity : level.getEntitiesOfClass(ItemEntity.class, new AABB(pos), item -> item.blockPosition().equals(pos))) {
+            //A previous item may have exploded or emptied the cauldron
+            if (itemEntity.isAlive() && !this.isRemoved()) {
+                onItemLand(itemEntity);
+            }
+        }
     }
 
     @Nullable
@@ -114,15 +401,16 @@ public abstract class BrewingCauldronBlockEntity extends BlockEntity {
 
     /**
      * Send a packet to sync this block entity inventory with the client
+     * @param players the players to send it to, see {@link CauldronSyncInterest}
      */
-    protected abstract void syncInventoryWithClient();
+    protected abstract void syncInventoryWithClient(List<ServerPlayer> players);
 
     /**
      * Delegation from the onEntityLand method in the {@link net.minecraft.world.level.block.Block} class
      * Useful to access data such as inventory attached to the block entity from {@link net.minecraft.world.level.block.Block} callback
      */
     public void onUseDelegate(BlockState state, Level level, BlockPos pos, Player player) {
-        if ( numberOfPotion >= 1) {
+        if ( numberOfPotion >= 1 && !brewing && !unsupportedContents) {
             dropInventoryContent(level);
         }
     }
@@ -130,112 +418,126 @@ public abstract class BrewingCauldronBlockEntity extends BlockEntity {
 
     private void craftCombinedPotion(ItemStack recipeItemStack, Level level, @NotNull BlockPos pos){
         if(level.isClientSide()) {return;}
-        List<MobEffectInstance> finalPotionStatusEffects = mergeCombinableEffects(this.getInventoryStatusEffectsInstances());
-
-        //read recipe
-        ItemStack potionToCraft = new ItemStack(recipes.get(recipeItemStack.getItem()));
-
-        if(potionToCraft.is(ModItem.COMBINED_LINGERING_POTION)) {
-            finalPotionStatusEffects = handleLingeringPotions(finalPotionStatusEffects);
+        List<MobEffectInstance> effects = this.getInventoryStatusEffectsInstances();
+        Item result = recipes.get(recipeItemStack.getItem());
+        boolean lingering = result == ModItem.COMBINED_LINGERING_POTION;
+
+        int asyncThreshold = PotionBlender.getConfig().async_blend_threshold;
+        //Under load every craft is deferred, the result is applied on a later tick
+        boolean async = LoadGovernor.isShedding() || (asyncThreshold > 0 && effects.size() >= asyncThreshold);
+        if (async && level.getServer() != null) {
+            brewAsync(recipeItemStack.copy(), result, effects, lingering, level.getServer());
+            return;
         }
 
-        //create and drop the potion contained all the effect of the previous potion
-        ItemStack potionItemStack = PotionUtils.setCustomEffects(potionToCraft, finalPotionStatusEffects);
-
-
-        int color = PotionUtils.getColor(finalPotionStatusEffects);
-
-        //Used to force tipped arrow color with the help of mixins
-        potionItemStack.getOrCreateTag().putInt(PotionUtils.TAG_CUSTOM_POTION_COLOR, color);
-
-        Containers.dropItemStack(level, pos.getX(),pos.getY()+ ITEM_DROP_OFFSET, pos.getZ(), potionItemStack);
-
-        //Drop all old potion bottle minus the one used for the new potion.
-        Containers.dropItemStack(level, pos.getX(),pos.getY()+ ITEM_DROP_OFFSET, pos.getZ(), new ItemStack(Items.GLASS_BOTTLE, numberOfPotion -1));
-
-        level.playSound(null, pos, SoundEvents.BREWING_STAND_BREW, SoundSource.BLOCKS, 1.0f, 1.0f);
-        emptyCauldron(level);
+        long profileStart = CauldronProfiler.enter();
+        long blendStart = System.nanoTime();
+        PotionBlend.Result blend = PotionBlend.blend(effects, lingering);
+        PotionBlenderMetrics.BLEND_TIME.recordSince(blendStart);
+        completeCraft(recipeItemStack.getItem(), result, blend, level, pos);
+        CauldronProfiler.exit(profileStart, CauldronProfiler.Operation.CRAFT, this, null);
     }
 
-
     /**
-     * Merge same effects in a potion. For instance poison 30sec and poison 40sec merge both effect into poison 70sec instead
+     * Blend a large craft on a worker thread. The cauldron is locked until the result is applied on the server thread
+     * @param catalyst the item thrown in the cauldron, given back if the blend is discarded
+     * @param effects effects of the inventory. Never modified, so the worker can read them safely
      */
-    private static List<MobEffectInstance>  mergeCombinableEffects(List<MobEffectInstance> effectInstances) {
-
-        Collection<MobEffect> mergedStatusEffects = new HashSet<>();
-        List<MobEffectInstance> finalPotionStatusEffects = new ArrayList<>(effectInstances);
-
-        // The tricky part here is that a potion type share 1 MobEffectInstance, making it impossible to differentiate them using ==
-        // Therefore to test if effectInstance1 == effectInstance2 we use a range based for loop and test indices
-        // This is otherwise a simple double iteration where we remember if we have already seen an effect type
-        for(int i=0; i<finalPotionStatusEffects.size(); i++ ){
-            MobEffectInstance effectInstance1 = finalPotionStatusEffects.get(i);
-
-            List<MobEffectInstance> combinableEffects = new ArrayList<>();
+    private void brewAsync(ItemStack catalyst, Item result, List<MobEffectInstance> effects, boolean lingering, MinecraftServer server) {
+        int version = contentsVersion;
+        try {
+            BlendExecutor.submit(() -> {
+                long blendStart = System.nanoTime();
+                PotionBlend.Result blend = PotionBlend.blend(effects, lingering);
+                PotionBlenderMetrics.BLEND_TIME.recordSince(blendStart);
+                return blend;
+            }).whenComplete((blend, error) -> {
+                if (error != null) {
+                    Constants.LOG.error("Could not blend potion at {}", this.getBlockPos(), error);
+                }
+                server.execute(() -> onAsyncBlendDone(catalyst, result, blend, version));
+            });
+        } catch (RejectedExecutionException e) {
+            //Too many blends in flight, the player can throw the catalyst again later
+            giveBackCatalyst(catalyst);
+            return;
+        }
+        PotionBlenderMetrics.ASYNC_BLENDS.increment();
+        brewing = true;
+        updateListeners();
+    }
 
-            int totalDuration = effectInstance1.getDuration();
-            //Effect are always combinable with themselves
-            combinableEffects.add(effectInstance1);
+    /**
+     * Apply an asynchronous blend, called on the server thread
+     * @param blend the result, null if the blend failed
+     * @param version the contents version the blend was computed from
+     */
+    private void onAsyncBlendDone(ItemStack catalyst, Item result, @Nullable PotionBlend.Result blend, int version) {
+        brewing = false;
+        if (level == null) {return;}
+        if (this.isRemoved()) {
+            //The cauldron was broken or unloaded while blending, the catalyst entity is already gone
+            giveBackCatalyst(catalyst);
+            return;
+        }
 
-            //This is the inversely proportional gain. First added potion has 1/2 the duration, 2nd 1/3, 3rd 1/4
-            //decay = 1/potionDecay
-            int potionDecay = 2;
+        if (blend == null || version != contentsVersion) {
+            PotionBlenderMetrics.STALE_BLENDS.increment();
+            giveBackCatalyst(catalyst);
+            updateListeners();
+            return;
+        }
+        long profileStart = CauldronProfiler.enter();
+        completeCraft(catalyst.getItem(), result, blend, level, this.getBlockPos());
+        CauldronProfiler.exit(profileStart, CauldronProfiler.Operation.CRAFT, this, null);
+    }
 
-            for(int j=0; j<finalPotionStatusEffects.size(); j++ ){
-                MobEffectInstance effectInstance2 = finalPotionStatusEffects.get(j);
+    private void giveBackCatalyst(ItemStack catalyst) {
+        assert level != null;
+        BlockPos pos = this.getBlockPos();
+        Containers.dropItemStack(level, pos.getX(),pos.getY()+ ITEM_DROP_OFFSET, pos.getZ(), catalyst);
+    }
 
-                if(i!=j && !mergedStatusEffects.contains(effectInstance1.getEffect()) && areEffectsDurationsAddable(effectInstance1, effectInstance2)){
-                    totalDuration += (1.0d / potionDecay) * effectInstance2.getDuration();
-                    potionDecay++;
-                    combinableEffects.add(effectInstance2);
-                }
-            }
+    /**
+     * Drop the crafted potion and empty the cauldron
+     */
+    private void completeCraft(Item catalyst, Item result, PotionBlend.Result blend, Level level, @NotNull BlockPos pos) {
+        CauldronCraftEvent craftEvent = new CauldronCraftEvent();
+        craftEvent.begin();
+        List<MobEffectInstance> finalPotionStatusEffects = blend.effects();
 
-            mergedStatusEffects.add(effectInstance1.getEffect());
+        //create and drop the potion contained all the effect of the previous potion
+        ItemStack potionItemStack = PotionUtils.setCustomEffects(new ItemStack(result), finalPotionStatusEffects);
+        PotionBlenderMetrics.recordCraft(BuiltInRegistries.ITEM.getKey(result));
 
-            if(combinableEffects.size() > 1){
-                MobEffectInstance combinedEffect = ModUtils.copyEffectWithNewDuration(combinableEffects.get(0), totalDuration);
-                finalPotionStatusEffects.removeAll(combinableEffects);
-                finalPotionStatusEffects.add(combinedEffect);
-            }
-        }
-        return finalPotionStatusEffects;
-    }
+        //Used to force tipped arrow color with the help of mixins
+        potionItemStack.getOrCreateTag().putInt(PotionUtils.TAG_CUSTOM_POTION_COLOR, blend.color());
+        BlendRegistry.internEffects(potionItemStack);
 
+        Containers.dropItemStack(level, pos.getX(),pos.getY()+ ITEM_DROP_OFFSET, pos.getZ(), potionItemStack);
 
-    /** Handle lingering potion lesser duration and potency combination
-     Quoting <a href="https://minecraft.fandom.com/wiki/Lingering_Potion">https://minecraft.fandom.com/wiki/Lingering_Potion</a>:
-     "For finalPotionStatusEffects with duration, the duration applied by the cloud is 1⁄4 that of the corresponding potion."
-     "For finalPotionStatusEffects without duration such as healing or harming, the potency of the effect is 1⁄2 that of the corresponding potion"
-     **/
-    @NotNull
-    private static List<MobEffectInstance> handleLingeringPotions(List<MobEffectInstance> finalPotionStatusEffects) {
-        List<MobEffectInstance> lingeringEffects = new ArrayList<>(finalPotionStatusEffects.size());
-        for (MobEffectInstance effectInstance : finalPotionStatusEffects){
-            if(effectInstance.getEffect().isInstantenous()){
-                //We are using the full constructor to copy effect witch is why the call is so long
-                lingeringEffects.add(new MobEffectInstance(effectInstance.getEffect(), effectInstance.getDuration(),
-                        Math.round(effectInstance.getAmplifier()*0.5f),
-                        effectInstance.isAmbient(), effectInstance.isVisible(),effectInstance.showIcon()));
-            } else {
-                lingeringEffects.add(ModUtils.copyEffectWithNewDuration(effectInstance, Math.round(effectInstance.getDuration() * 0.25f)));
-            }
+        //Drop all old potion bottle minus the one used for the new potion.
+        Containers.dropItemStack(level, pos.getX(),pos.getY()+ ITEM_DROP_OFFSET, pos.getZ(), new ItemStack(Items.GLASS_BOTTLE, numberOfPotion -1));
 
+        level.playSound(null, pos, SoundEvents.BREWING_STAND_BREW, SoundSource.BLOCKS, 1.0f, 1.0f);
+        if (craftEvent.shouldCommit()) {
+            craftEvent.setCauldron(this);
+            craftEvent.result = BuiltInRegistries.ITEM.getKey(result).toString();
+            craftEvent.potionCount = numberOfPotion;
+            craftEvent.effectCount = finalPotionStatusEffects.size();
+            craftEvent.commit();
         }
-        return lingeringEffects;
-    }
-
-    private static boolean areEffectsDurationsAddable(MobEffectInstance effectInstance1, MobEffectInstance effectInstance2) {
-        return effectInstance1.getEffect() == effectInstance2.getEffect() &&
-                effectInstance1.getAmplifier() == effectInstance2.getAmplifier();
+        CauldronTraceRecorder.record(TraceEventType.CRAFT, this, BuiltInRegistries.ITEM.getId(catalyst), finalPotionStatusEffects.size());
+        emptyCauldron(level);
     }
 
 
     private void dropInventoryContent(@NotNull Level level) {
         if(level.isClientSide()) {return;}
         level.playSound(null, this.getBlockPos(), SoundEvents.CHICKEN_EGG, SoundSource.BLOCKS, 1.0f, 1.0f);
+        //The stacks are only rebuilt here, when they leave the cauldron
         Containers.dropContents(level, this.getBlockPos().offset(0, ITEM_DROP_OFFSET,0), this.getInventory());
+        CauldronTraceRecorder.record(TraceEventType.DROP, this, 0, numberOfPotion);
         emptyCauldron(level);
     }
 
@@ -251,39 +553,115 @@ public abstract class BrewingCauldronBlockEntity extends BlockEntity {
         if(level.isClientSide()) {return;}
 
         if (entity instanceof ItemEntity itemEntity){
-            ItemStack itemStack = itemEntity.getItem();
+            long profileStart = CauldronProfiler.enter();
+            onItemLand(itemEntity);
+            CauldronProfiler.exit(profileStart, CauldronProfiler.Operation.LAND, this, itemEntity.getThrower());
+        }
+    }
 
-            //Handle overload mechanic where a cauldron explode if a combined potion is thrown into it
-            if(isACombinedPotion(itemStack)) {
-                entity.remove(Entity.RemovalReason.DISCARDED);
-                explode(entity);
+    private void onItemLand(ItemEntity itemEntity) {
+        assert level != null;
+        if (unsupportedContents) return;
+        ItemStack itemStack = itemEntity.getItem();
+
+        //Handle overload mechanic where a cauldron explode if a combined potion is thrown into it
+        if(isACombinedPotion(itemStack)) {
+            //Too many explosions around, the item is left where it is until the cooldown of the chunk is over
+            if (!ExplosionThrottle.tryAcquire((ServerLevel) level, this.getBlockPos(), PotionBlender.getConfig().explosion_cooldown_ticks)) {
+                PotionBlenderMetrics.THROTTLED_EXPLOSIONS.increment();
+                scheduleRestingItemsRecheck(ExplosionThrottle.ticksUntilAllowed((ServerLevel) level, this.getBlockPos()));
+                return;
             }
+            itemEntity.remove(Entity.RemovalReason.DISCARDED);
+            explode(itemEntity);
+        }
 
 
-            //Add item
-            if(itemStack.is(Items.POTION) && numberOfPotion < inventory.size()){
-                if (wouldIgnoreInstantPotion(itemStack)) return;
-                addItemToCauldron(itemEntity);
+        //The contents are locked while a blend is in progress
+        if (brewing) {
+            scheduleRestingItemsRecheck(1);
+            return;
+        }
+
+        //Add item
+        if(itemStack.is(Items.POTION) && numberOfPotion < capacity){
+            if (wouldIgnoreInstantPotion(itemStack)) return;
+            //Taken in later, once the server recovers or the cooldown is over
+            if (LoadGovernor.isShedding()) {
+                scheduleRestingItemsRecheck(LoadGovernor.CHECK_INTERVAL_TICKS);
+                return;
             }
-            //Craft potion
-            if(recipes.containsKey(itemStack.getItem()) && numberOfPotion > 0) {
-                craftCombinedPotion(itemStack,level, this.getBlockPos());
-                entity.remove(Entity.RemovalReason.DISCARDED);
+            if (level.getGameTime() < nextIntakeGameTime) {
+                scheduleRestingItemsRecheck(nextIntakeGameTime - level.getGameTime());
+                return;
             }
+            nextIntakeGameTime = level.getGameTime() + PotionBlender.getConfig().intake_cooldown_ticks;
+            addItemToCauldron(itemEntity);
+        }
+        //Craft potion
+        if(recipes.containsKey(itemStack.getItem()) && numberOfPotion > 0) {
+            craftCombinedPotion(itemStack,level, this.getBlockPos());
+            itemEntity.remove(Entity.RemovalReason.DISCARDED);
         }
     }
 
     private void explode(Entity entity) {
         assert level != null;
         assert !level.isClientSide();
+        long profileStart = CauldronProfiler.enter();
+        CauldronExplosionEvent explosionEvent = new CauldronExplosionEvent();
+        explosionEvent.begin();
 
         BlockPos pos = this.getBlockPos();
 
-        List<ServerPlayer> nearbyPlayers = this.getLevel().getEntitiesOfClass(ServerPlayer.class, new AABB(pos).inflate(5));
-        for (ServerPlayer player : nearbyPlayers){
-            CauldronExplosionTrigger.INSTANCE.trigger(player,pos, (ServerLevel) this.getLevel());
+        PotionBlenderMetrics.EXPLOSIONS.increment();
+
+        ServerLevel serverLevel = (ServerLevel) this.level;
+        //A level rarely has more than a handful of players, cheaper than looking up the entity sections around the cauldron
+        AABB area = new AABB(pos).inflate(EXPLOSION_PLAYER_RANGE);
+        List<ServerPlayer> nearbyPlayers = new ArrayList<>();
+        for (ServerPlayer player : serverLevel.players()) {
+            if (player.getBoundingBox().intersects(area)) {
+                nearbyPlayers.add(player);
+                CauldronExplosionTrigger.INSTANCE.trigger(player, pos, serverLevel);
+            }
+        }
+        if (PotionBlender.getConfig().explosion_mode == ConfigInstance.ExplosionMode.LIGHTWEIGHT || LoadGovernor.isShedding()) {
+            explodeLightweight(serverLevel, entity, nearbyPlayers);
+        } else {
+            this.level.explode(entity,pos.getX(), pos.getY(), pos.getZ(), EXPLOSION_RADIUS, Level.ExplosionInteraction.BLOCK);
+        }
+        if (explosionEvent.shouldCommit()) {
+            explosionEvent.setCauldron(this);
+            explosionEvent.nearbyPlayers = nearbyPlayers.size();
+            explosionEvent.commit();
+        }
+        int thrownItem = entity instanceof ItemEntity itemEntity ? BuiltInRegistries.ITEM.getId(itemEntity.getItem().getItem()) : 0;
+        CauldronTraceRecorder.record(TraceEventType.EXPLODE, this, thrownItem, nearbyPlayers.size());
+        CauldronProfiler.exit(profileStart, CauldronProfiler.Operation.EXPLODE, this, null);
+    }
+
+    /**
+     * Break the cauldron and push the nearby players away, without the ray casting and block drops of a real explosion
+     * @see ConfigInstance.ExplosionMode#LIGHTWEIGHT
+     */
+    private void explodeLightweight(ServerLevel serverLevel, Entity entity, List<ServerPlayer> nearbyPlayers) {
+        BlockPos pos = this.getBlockPos();
+        Vec3 center = Vec3.atCenterOf(pos);
+        serverLevel.destroyBlock(pos, true, entity);
+        serverLevel.playSound(null, pos, SoundEvents.GENERIC_EXPLODE, SoundSource.BLOCKS, 4.0f, 1.0f);
+        serverLevel.sendParticles(ParticleTypes.EXPLOSION, center.x, center.y, center.z, 1, 0, 0, 0, 0);
+
+        double knockbackRange = EXPLOSION_RADIUS * 2;
+        for (ServerPlayer player : nearbyPlayers) {
+            Vec3 away = player.position().subtract(center);
+            double distance = away.length();
+            if (distance >= knockbackRange || distance < 1.0E-4 || player.isSpectator() || player.getAbilities().flying) {continue;}
+            double strength = (1 - distance / knockbackRange) * (1 - player.getAttributeValue(Attributes.KNOCKBACK_RESISTANCE));
+            player.push(away.x / distance * strength, away.y / distance * strength, away.z / distance * strength);
+            //Send the new velocity to the client
+            player.hurtMarked = true;
         }
-        this.level.explode(entity,pos.getX(), pos.getY(), pos.getZ(), 1.5F, Level.ExplosionInteraction.BLOCK);
     }
 
     private boolean wouldIgnoreInstantPotion(ItemStack itemStack) {
@@ -321,11 +699,18 @@ public abstract class BrewingCauldronBlockEntity extends BlockEntity {
         if(level.isClientSide()) {return;}
 
         Level level = itemEntity.getLevel();
+        CauldronIntakeEvent intakeEvent = new CauldronIntakeEvent();
+        intakeEvent.begin();
 
         level.playSound(null, this.getBlockPos(), SoundEvents.ITEM_PICKUP, SoundSource.BLOCKS, 1.0f, 1.0f);
+        PotionBlenderMetrics.INTAKES.increment();
 
         //add potion to cauldron inventory
         addItem(itemEntity.getItem());
+        if (CauldronTraceRecorder.isRecording()) {
+            CauldronTraceRecorder.record(TraceEventType.INTAKE, this, BuiltInRegistries.ITEM.getId(itemEntity.getItem().getItem()),
+                    BuiltInRegistries.POTION.getId(PotionUtils.getPotion(itemEntity.getItem())));
+        }
 
         //Since we added a potion, the cauldron must now appear with fluid
         BlockState mixerCauldronBlockState = level.getBlockState(this.getBlockPos()).setValue(BrewingCauldron.HAS_FLUID, true);
@@ -337,22 +722,69 @@ public abstract class BrewingCauldronBlockEntity extends BlockEntity {
         itemEntity.remove(Entity.RemovalReason.DISCARDED);
 
         updateListeners();
+
+        if (intakeEvent.shouldCommit()) {
+            intakeEvent.setCauldron(this);
+            intakeEvent.effectCount = PotionUtils.getMobEffects(itemEntity.getItem()).size();
+            intakeEvent.potionCount = numberOfPotion;
+            intakeEvent.commit();
+        }
     }
     private void addItem(@NotNull ItemStack itemStack) {
         assert level != null;
+        materializeInventory();
+        allocateInventory();
         //Check for incoherent state if inventory has changed since last Level load
-        if(numberOfPotion > inventory.size()){
-            countPotion(inventory);}
-        inventory.set(numberOfPotion, itemStack);
+        if(numberOfPotion >= capacity){
+            countPotion();}
+        inventory[numberOfPotion] = StoredPotion.of(itemStack);
         numberOfPotion++;
+        cachedMix = null;
+        contentsVersion++;
+        publishSnapshot();
+        updateIndex();
+    }
+
+    /**
+     * Add or remove this cauldron from the {@link CauldronIndex} of its level depending on its contents
+     */
+    private void updateIndex() {
+        if (!(level instanceof ServerLevel serverLevel) || this.isRemoved()) {return;}
+        if (numberOfPotion > 0) {
+            CauldronIndex.of(serverLevel).add(this.getBlockPos());
+        } else {
+            CauldronIndex.of(serverLevel).remove(this.getBlockPos());
+        }
+    }
+
+    @Override
+    public void setLevel(@NotNull Level level) {
+        super.setLevel(level);
+        updateIndex();
+    }
+
+    @Override
+    public void setRemoved() {
+        super.setRemoved();
+        if (level instanceof ServerLevel serverLevel) {
+            CauldronIndex.of(serverLevel).remove(this.getBlockPos());
+        }
+    }
+
+    @Override
+    public void clearRemoved() {
+        super.clearRemoved();
+        updateIndex();
     }
 
     /**
      * Force a chunk rerender by toggling a block state back and forth
-     * Used when an item is added to force rendering of the block tint
+     * Used when an item is added to force rendering of the block tint.
+     * Skipped when syncs are restricted to nearby players: a block change reaches every player tracking the chunk,
+     * while the clients receiving the sync already rerender the block when they handle it
      */
     private void forceChunkUpdate() {
-        if(level == null){return;}
+        if(level == null || CauldronSyncInterest.isEnabled()){return;}
         BlockState blockState = level.getBlockState(this.getBlockPos());
 
         boolean redrawValue = blockState.getValue(BrewingCauldron.REDRAW_DUMMY);
@@ -363,54 +795,189 @@ public abstract class BrewingCauldronBlockEntity extends BlockEntity {
 
     @Override
     public void load(@NotNull CompoundTag nbt) {
-        this.inventory = NonNullList.withSize(this.size(), ItemStack.EMPTY);
-        ContainerHelper.loadAllItems(nbt, this.inventory);
-        numberOfPotion = nbt.getInt(POTION_MIXER_KEY);
+        //Client side, the chunk data and block entity updates only contain the visual state
+        if (nbt.contains(VISUAL_STATE_KEY, Tag.TAG_COMPOUND)) {
+            setClientVisualState(CauldronVisualState.fromTag(nbt.getCompound(VISUAL_STATE_KEY)));
+            super.load(nbt);
+            return;
+        }
+
+        cachedMix = null;
+        contentsVersion++;
+        this.inventory = EMPTY_INVENTORY;
+        unsupportedContents = false;
+        if (CauldronContentsCodec.isCompact(nbt) && !CauldronContentsCodec.isSupported(nbt.getCompound(CauldronContentsCodec.CONTENTS_KEY))) {
+            CompoundTag contents = nbt.getCompound(CauldronContentsCodec.CONTENTS_KEY);
+            Constants.LOG.error("Cauldron at {} was saved with contents version {} by a newer version of the mod, it is kept as is and ignores interactions",
+                    this.getBlockPos(), CauldronContentsCodec.readVersion(contents));
+            unsupportedContents = true;
+            pendingContents = null;
+            numberOfPotion = 0;
+            contentsSnapshot = contents;
+        } else if (CauldronContentsCodec.isCompact(nbt)) {
+            //Stacks are built lazily, only the potion count is needed right away
+            pendingContents = nbt.getCompound(CauldronContentsCodec.CONTENTS_KEY);
+            numberOfPotion = Math.min(CauldronContentsCodec.countPotions(pendingContents), this.size());
+            cachedMix = CauldronContentsCodec.readMix(pendingContents);
+            //Written back as is until the contents change
+            contentsSnapshot = pendingContents;
+        } else {
+            //Legacy layout, converted to the compact one on the next save
+            pendingContents = null;
+            numberOfPotion = nbt.getInt(POTION_MIXER_KEY);
+            if (numberOfPotion > 0) {
+                NonNullList<ItemStack> stacks = NonNullList.withSize(capacity, ItemStack.EMPTY);
+                ContainerHelper.loadAllItems(nbt, stacks);
+                allocateInventory();
+                numberOfPotion = 0;
+                for (ItemStack stack : stacks) {
+                    if (!stack.isEmpty()) {
+                        inventory[numberOfPotion++] = StoredPotion.of(stack);
+                    }
+                }
+                if (numberOfPotion == 0) {
+                    inventory = EMPTY_INVENTORY;
+                }
+            }
+            publishSnapshot();
+        }
         super.load(nbt);
+        //Only does something when an already placed cauldron is loaded again, new ones are indexed in setLevel
+        updateIndex();
     }
 
+    /**
+     * Only reads the published {@link #contentsSnapshot}, safe to call from any thread.
+     * The snapshot is copied since callers are free to modify the tag they get.
+     */
     @Override
     protected void saveAdditional(@NotNull CompoundTag nbt) {
-        ContainerHelper.saveAllItems(nbt,inventory);
-        nbt.putInt(POTION_MIXER_KEY, numberOfPotion);
+        nbt.put(CauldronContentsCodec.CONTENTS_KEY, contentsSnapshot.copy());
         super.saveAdditional(nbt);
     }
 
     public int getWaterColor(){
-        return PotionUtils.getColor(getInventoryStatusEffectsInstances());
+        CauldronVisualState clientState = getClientState();
+        if (clientState != null) {
+            return clientState.color();
+        }
+        return getColorMix().color();
+    }
+
+    /**
+     * Server side, the color mix of the inventory, computed once per change of the contents
+     */
+    @NotNull
+    private ColorMix getColorMix() {
+        if (cachedMix == null) {
+            PotionBlenderMetrics.WATER_COLOR_CACHE.miss();
+            PotionBlenderMetrics.COLOR_RECOMPUTATIONS.increment();
+            cachedMix = ColorMix.of(getInventoryStatusEffectsInstances());
+        } else {
+            PotionBlenderMetrics.WATER_COLOR_CACHE.hit();
+        }
+        return cachedMix;
+    }
+
+    /**
+     * @return the state needed by clients to render this cauldron
+     */
+    @NotNull
+    public CauldronVisualState getVisualState() {
+        CauldronVisualState clientState = getClientState();
+        if (clientState != null) {
+            return clientState;
+        }
+        byte flags = numberOfPotion >= this.size() ? CauldronVisualState.FLAG_FULL : 0;
+        if (brewing) {
+            flags |= CauldronVisualState.FLAG_BREWING;
+        }
+        return new CauldronVisualState(getColorMix(), numberOfPotion, flags);
+    }
+
+    /**
+     * Client side, apply a state received from the server
+     */
+    public void setClientVisualState(@NotNull CauldronVisualState visualState) {
+        this.clientVisualState = visualState;
+        //An update with the same count may predate the landing, the prediction is kept until it expires
+        if (predictedVisualState != null && visualState.potionCount() != predictedVisualState.potionCount() - 1) {
+            predictedVisualState = null;
+        }
+    }
+
+    /**
+     * Client side, the predicted state if any, otherwise the last state received from the server
+     */
+    @Nullable
+    private CauldronVisualState getClientState() {
+        return predictedVisualState != null ? predictedVisualState : clientVisualState;
+    }
+
+    /**
+     * Client side, show the tint the cauldron should have once the server adds a potion that just landed in it,
+     * instead of waiting a round trip for the sync. The prediction is replaced by the server state as soon as it
+     * reflects a change, or dropped after {@link ConfigInstance#tint_prediction_ticks} if the server refused the potion.
+     */
+    public void predictPotionLanding(@NotNull ItemEntity itemEntity) {
+        int timeout = PotionBlender.getConfig().tint_prediction_ticks;
+        if (level == null || timeout <= 0 || clientVisualState == null || predictedVisualState != null) {return;}
+        ItemStack itemStack = itemEntity.getItem();
+        if (!itemStack.is(Items.POTION)
+                || clientVisualState.hasFlag(CauldronVisualState.FLAG_FULL)
+                || clientVisualState.hasFlag(CauldronVisualState.FLAG_BREWING)) {
+            return;
+        }
+        predictedVisualState = clientVisualState.withPotion(PotionUtils.getMobEffects(itemStack));
+        predictionExpiryGameTime = level.getGameTime() + timeout;
+        redrawClient();
+    }
+
+    /**
+     * Client side, roll back a prediction the server did not confirm in time
+     */
+    public void clientTick() {
+        if (predictedVisualState != null && level != null && level.getGameTime() >= predictionExpiryGameTime) {
+            predictedVisualState = null;
+            redrawClient();
+        }
+    }
+
+    private void redrawClient() {
+        if (level == null) {return;}
+        level.sendBlockUpdated(this.getBlockPos(), this.getBlockState(), this.getBlockState(), Block.UPDATE_IMMEDIATE);
     }
 
+    /**
+     * Only the visual state is sent to clients, the inventory stays on the server
+     */
     @Override
     public @NotNull CompoundTag getUpdateTag() {
-        return this.saveWithoutMetadata();
+        CompoundTag tag = new CompoundTag();
+        tag.put(VISUAL_STATE_KEY, getVisualState().toTag());
+        return tag;
     }
 
     @NotNull
     protected List<MobEffectInstance> getInventoryStatusEffectsInstances() {
         List<MobEffectInstance> effects = new ArrayList<>();
+        materializeInventory();
 
         //Check for incoherent state if inventory has changed since last Level load
-        if(this.numberOfPotion > this.inventory.size()){
-            this.numberOfPotion = this.size()-1;
+        if(this.numberOfPotion > this.inventory.length){
+            this.numberOfPotion = this.inventory.length;
         }
 
         for (int i = 0; i< this.numberOfPotion; i++ ) {
-            ItemStack potionItemStack = inventory.get(i);
-            effects.addAll(PotionUtils.getMobEffects(potionItemStack));
+            effects.addAll(inventory[i].getEffects());
         }
         return effects;
     }
 
-    public void setInventory(NonNullList<ItemStack> newInventory) {
-        this.numberOfPotion = 0;
-        this.inventory = newInventory;
-        countPotion(newInventory);
-
-    }
-
-    private void countPotion(NonNullList<ItemStack> newInventory) {
-        for (ItemStack stack : newInventory) {
-            if(!stack.is(Items.AIR)){
+    private void countPotion() {
+        numberOfPotion = 0;
+        for (StoredPotion potion : inventory) {
+            if(potion != null){
                 numberOfPotion++;
             }
         }
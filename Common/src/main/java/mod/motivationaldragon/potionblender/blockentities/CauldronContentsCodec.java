@@ -0,0 +1,188 @@
+package mod.motivationaldragon.potionblender.blockentities;
+
+import net.minecraft.nbt.ByteArrayTag;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.IntArrayTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.Tag;
+import net.minecraft.world.item.ItemStack;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compact on-disk format of the {@link BrewingCauldronBlockEntity} content.
+ * <p>
+ * Instead of writing every slot as a full item stack, distinct potions are written once in a palette and the filled
+ * slots are written as indices into that palette:
+ * <pre>
+ * Contents: {
+ *     Version: 1,
+ *     Palette: [{id: "minecraft:potion", Count: 1b, tag: {...}}, ...],
+ *     Slots: [B; 0, 0, 1],
+ *     Color: 3694022,
+ *     Mix: {R: 0.8f, G: 0.5f, B: 0.9f, Weight: 1, HasEffects: 1b}
+ * }
+ * </pre>
+ * The number of potion in the cauldron is the length of the slot array, so it is not stored separately.
+ * The water color and the {@link ColorMix} it is computed from are stored so a cauldron can be rendered
+ * without deserializing its stacks.
+ * Cauldrons saved before this format existed are still read through the legacy {@code Items} layout.
+ */
+public class CauldronContentsCodec {
+
+    public static final String CONTENTS_KEY = "Contents";
+    public static final int FORMAT_VERSION = 1;
+
+    private static final String VERSION_KEY = "Version";
+    private static final String PALETTE_KEY = "Palette";
+    private static final String SLOTS_KEY = "Slots";
+    private static final String COLOR_KEY = "Color";
+    private static final String MIX_KEY = "Mix";
+
+    /**
+     * Slot indices are packed as bytes while the palette fits in an unsigned byte
+     */
+    private static final int MAX_BYTE_PALETTE_SIZE = 256;
+
+    private CauldronContentsCodec(){
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * @return true if the block entity tag was written using the compact format
+     */
+    public static boolean isCompact(@NotNull CompoundTag blockEntityTag) {
+        return blockEntityTag.contains(CONTENTS_KEY, Tag.TAG_COMPOUND);
+    }
+
+    /**
+     * Encode the first {@code numberOfPotion} potions of the cauldron
+     * @param mix the color mix of the cauldron
+     */
+    @NotNull
+    public static CompoundTag encode(@NotNull StoredPotion[] potions, int numberOfPotion, @NotNull ColorMix mix) {
+        int count = Math.min(numberOfPotion, potions.length);
+
+        List<StoredPotion> palette = new ArrayList<>(count);
+        int[] slots = new int[count];
+
+        for (int i = 0; i < count; i++) {
+            StoredPotion potion = potions[i];
+            int index = indexInPalette(palette, potion);
+            if (index < 0) {
+                index = palette.size();
+                palette.add(potion);
+            }
+            slots[i] = index;
+        }
+
+        ListTag paletteTag = new ListTag();
+        for (StoredPotion potion : palette) {
+            paletteTag.add(potion.toStack().save(new CompoundTag()));
+        }
+
+        CompoundTag contents = new CompoundTag();
+        contents.putInt(VERSION_KEY, FORMAT_VERSION);
+        contents.put(PALETTE_KEY, paletteTag);
+        contents.put(SLOTS_KEY, packSlots(slots, palette.size()));
+        contents.putInt(COLOR_KEY, mix.color());
+        contents.put(MIX_KEY, mix.toTag());
+        return contents;
+    }
+
+    /**
+     * @return the format version of a compact content tag
+     */
+    public static int readVersion(@NotNull CompoundTag contents) {
+        return contents.contains(VERSION_KEY, Tag.TAG_ANY_NUMERIC) ? contents.getInt(VERSION_KEY) : FORMAT_VERSION;
+    }
+
+    /**
+     * @return false if the tag was written by a newer version of the mod and cannot be decoded
+     */
+    public static boolean isSupported(@NotNull CompoundTag contents) {
+        return readVersion(contents) <= FORMAT_VERSION;
+    }
+
+    /**
+     * Decode a compact content tag
+     * @param contents the tag stored under {@link #CONTENTS_KEY}
+     * @param capacity the number of potion the cauldron can hold. Slots past it are dropped, like {@code ContainerHelper} does.
+     * @return the potions, in slot order
+     * @throws IllegalArgumentException if the tag is not {@link #isSupported supported}
+     */
+    @NotNull
+    public static List<StoredPotion> decode(@NotNull CompoundTag contents, int capacity) {
+        int version = readVersion(contents);
+        if (version > FORMAT_VERSION) {
+            throw new IllegalArgumentException("Unsupported cauldron contents version " + version + ", expected at most " + FORMAT_VERSION);
+        }
+        ListTag paletteTag = contents.getList(PALETTE_KEY, Tag.TAG_COMPOUND);
+        List<StoredPotion> palette = new ArrayList<>(paletteTag.size());
+        for (int i = 0; i < paletteTag.size(); i++) {
+            palette.add(StoredPotion.of(ItemStack.of(paletteTag.getCompound(i))));
+        }
+
+        int[] slots = unpackSlots(contents);
+        List<StoredPotion> potions = new ArrayList<>(Math.min(slots.length, capacity));
+        for (int slot = 0; slot < slots.length && potions.size() < capacity; slot++) {
+            int index = slots[slot];
+            if (index < 0 || index >= palette.size()) {
+                continue;
+            }
+            //Stored potions are immutable, so slots holding the same potion share the palette entry
+            potions.add(palette.get(index));
+        }
+        return potions;
+    }
+
+    /**
+     * @return the number of potion stored in a compact content tag, without deserializing any stack
+     */
+    public static int countPotions(@NotNull CompoundTag contents) {
+        return unpackSlots(contents).length;
+    }
+
+    /**
+     * @return the color mix stored in a compact content tag, or null if it was not stored
+     */
+    @Nullable
+    public static ColorMix readMix(@NotNull CompoundTag contents) {
+        return contents.contains(MIX_KEY, Tag.TAG_COMPOUND) ? ColorMix.fromTag(contents.getCompound(MIX_KEY)) : null;
+    }
+
+    private static int indexInPalette(List<StoredPotion> palette, StoredPotion potion) {
+        for (int i = 0; i < palette.size(); i++) {
+            if (palette.get(i).isSameAs(potion)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static Tag packSlots(int[] slots, int paletteSize) {
+        if (paletteSize > MAX_BYTE_PALETTE_SIZE) {
+            return new IntArrayTag(slots);
+        }
+        byte[] packed = new byte[slots.length];
+        for (int i = 0; i < slots.length; i++) {
+            packed[i] = (byte) slots[i];
+        }
+        return new ByteArrayTag(packed);
+    }
+
+    private static int[] unpackSlots(CompoundTag contents) {
+        if (contents.contains(SLOTS_KEY, Tag.TAG_INT_ARRAY)) {
+            return contents.getIntArray(SLOTS_KEY);
+        }
+        byte[] packed = contents.getByteArray(SLOTS_KEY);
+        int[] slots = new int[packed.length];
+        for (int i = 0; i < packed.length; i++) {
+            slots[i] = Byte.toUnsignedInt(packed[i]);
+        }
+        return slots;
+    }
+}
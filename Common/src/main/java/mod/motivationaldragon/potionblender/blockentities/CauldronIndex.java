@@ -0,0 +1,106 @@
+package mod.motivationaldragon.potionblender.blockentities;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.Level;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Positions of the loaded {@link BrewingCauldronBlockEntity} holding at least one potion, per level and per chunk.
+ * Kept up to date by the cauldrons themselves, so region queries only look at the chunks they overlap
+ * instead of every block entity of those chunks.
+ * Only used from the server thread.
+ */
+public class CauldronIndex {
+
+    private static final Map<ResourceKey<Level>, CauldronIndex> LEVELS = new HashMap<>();
+
+    private final Long2ObjectOpenHashMap<LongOpenHashSet> cauldronsPerChunk = new Long2ObjectOpenHashMap<>();
+    private int size;
+
+    /**
+     * @return the index of the level, created on first call
+     */
+    @NotNull
+    public static CauldronIndex of(ServerLevel level) {
+        return LEVELS.computeIfAbsent(level.dimension(), dimension -> new CauldronIndex());
+    }
+
+    public static void onServerStopped() {
+        LEVELS.clear();
+    }
+
+    void add(BlockPos pos) {
+        LongOpenHashSet cauldrons = cauldronsPerChunk.computeIfAbsent(ChunkPos.asLong(pos), chunk -> new LongOpenHashSet());
+        if (cauldrons.add(pos.asLong())) {
+            size++;
+        }
+    }
+
+    void remove(BlockPos pos) {
+        long chunk = ChunkPos.asLong(pos);
+        LongOpenHashSet cauldrons = cauldronsPerChunk.get(chunk);
+        if (cauldrons == null || !cauldrons.remove(pos.asLong())) {return;}
+        size--;
+        if (cauldrons.isEmpty()) {
+            cauldronsPerChunk.remove(chunk);
+        }
+    }
+
+    /**
+     * @return the number of indexed cauldrons
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return the number of chunks holding at least one indexed cauldron
+     */
+    public int chunkCount() {
+        return cauldronsPerChunk.size();
+    }
+
+    /**
+     * Find the indexed cauldrons within {@code radius} blocks of {@code center}.
+     * Only the chunks overlapping the radius are looked at.
+     * @return the positions, nearest first
+     */
+    public List<BlockPos> findWithin(BlockPos center, int radius) {
+        List<BlockPos> found = new ArrayList<>();
+        if (size == 0) {return found;}
+        long maxDistanceSqr = (long) radius * radius;
+        int minChunkX = SectionPos.blockToSectionCoord(center.getX() - radius);
+        int maxChunkX = SectionPos.blockToSectionCoord(center.getX() + radius);
+        int minChunkZ = SectionPos.blockToSectionCoord(center.getZ() - radius);
+        int maxChunkZ = SectionPos.blockToSectionCoord(center.getZ() + radius);
+
+        for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+            for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
+                LongOpenHashSet cauldrons = cauldronsPerChunk.get(ChunkPos.asLong(chunkX, chunkZ));
+                if (cauldrons == null) {continue;}
+                LongIterator iterator = cauldrons.iterator();
+                while (iterator.hasNext()) {
+                    BlockPos pos = BlockPos.of(iterator.nextLong());
+                    if (pos.distSqr(center) <= maxDistanceSqr) {
+                        found.add(pos);
+                    }
+                }
+            }
+        }
+        found.sort(Comparator.comparingDouble(pos -> pos.distSqr(center)));
+        return found;
+    }
+}
@@ -0,0 +1,92 @@
+package mod.motivationaldragon.potionblender.blockentities;
+
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.world.effect.MobEffectInstance;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collection;
+
+/**
+ * Everything the client needs to render a {@link BrewingCauldronBlockEntity}.
+ * The potions themselves stay on the server, only this state is sent in chunk data, block entity updates and sync packets.
+ * @param mix the color mix of the effects in the cauldron, see {@link #color()}
+ * @param potionCount the number of potion in the cauldron
+ * @param flags a bit set of the FLAG_* constants
+ */
+public record CauldronVisualState(ColorMix mix, int potionCount, byte flags) {
+
+    /**
+     * mc color code for water
+     */
+    public static final int WATER_COLOR = 3694022;
+
+    /**
+     * Set when the cauldron cannot accept more potion
+     */
+    public static final byte FLAG_FULL = 1;
+
+    /**
+     * Set while a combined potion is blended and the cauldron is locked
+     */
+    public static final byte FLAG_BREWING = 2;
+
+    public static final CauldronVisualState EMPTY = new CauldronVisualState(ColorMix.EMPTY, 0, (byte) 0);
+
+    private static final String MIX_KEY = "Mix";
+    private static final String COUNT_KEY = "Count";
+    private static final String FLAGS_KEY = "Flags";
+
+    /**
+     * @return the water color
+     */
+    public int color() {
+        return mix.color();
+    }
+
+    public boolean hasFlag(byte flag) {
+        return (flags & flag) != 0;
+    }
+
+    /**
+     * Predict the state once a potion is added. The server appends the effects of the potion to the same mix,
+     * so the predicted color is the one the server will send if it takes the potion in.
+     * @param effects the effects of the added potion
+     */
+    @NotNull
+    public CauldronVisualState withPotion(@NotNull Collection<MobEffectInstance> effects) {
+        return new CauldronVisualState(mix.with(effects), potionCount + 1, flags);
+    }
+
+    @NotNull
+    public CompoundTag toTag() {
+        CompoundTag tag = new CompoundTag();
+        tag.put(MIX_KEY, mix.toTag());
+        tag.putInt(COUNT_KEY, potionCount);
+        tag.putByte(FLAGS_KEY, flags);
+        return tag;
+    }
+
+    @NotNull
+    public static CauldronVisualState fromTag(@NotNull CompoundTag tag) {
+        return new CauldronVisualState(ColorMix.fromTag(tag.getCompound(MIX_KEY)), tag.getInt(COUNT_KEY), tag.getByte(FLAGS_KEY));
+    }
+
+    public void write(@NotNull FriendlyByteBuf buf) {
+        mix.write(buf);
+        buf.writeVarInt(potionCount);
+        buf.writeByte(flags);
+    }
+
+    /**
+     * @return the number of bytes written by {@link #write(FriendlyByteBuf)}
+     */
+    public int encodedSize() {
+        return mix.encodedSize() + FriendlyByteBuf.getVarIntSize(potionCount) + Byte.BYTES;
+    }
+
+    @NotNull
+    public static CauldronVisualState read(@NotNull FriendlyByteBuf buf) {
+        return new CauldronVisualState(ColorMix.read(buf), buf.readVarInt(), buf.readByte());
+    }
+}
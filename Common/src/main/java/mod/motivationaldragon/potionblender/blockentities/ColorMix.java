@@ -0,0 +1,99 @@
+package mod.motivationaldragon.potionblender.blockentities;
+
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.world.effect.MobEffectInstance;
+import net.minecraft.world.item.alchemy.PotionUtils;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collection;
+
+/**
+ * Running sums of {@link PotionUtils#getColor(Collection)}: the colors of the visible effects weighted by their level.
+ * The sums are accumulated with the same float operations in the same order, so adding the effects of a potion to
+ * the mix of a cauldron gives exactly the color the server computes once the potion is added. Clients predict tints with it.
+ * @param weight the sum of the levels of the visible effects
+ * @param hasEffects false while no effect, even hidden, was added. The color is then the water color
+ */
+public record ColorMix(float red, float green, float blue, int weight, boolean hasEffects) {
+
+    public static final ColorMix EMPTY = new ColorMix(0.0F, 0.0F, 0.0F, 0, false);
+
+    private static final String RED_KEY = "R";
+    private static final String GREEN_KEY = "G";
+    private static final String BLUE_KEY = "B";
+    private static final String WEIGHT_KEY = "Weight";
+    private static final String HAS_EFFECTS_KEY = "HasEffects";
+
+    @NotNull
+    public static ColorMix of(@NotNull Collection<MobEffectInstance> effects) {
+        return EMPTY.with(effects);
+    }
+
+    @NotNull
+    public ColorMix with(@NotNull Collection<MobEffectInstance> effects) {
+        if (effects.isEmpty()) {return this;}
+        float mixedRed = red;
+        float mixedGreen = green;
+        float mixedBlue = blue;
+        int mixedWeight = weight;
+        for (MobEffectInstance effect : effects) {
+            if (!effect.isVisible()) {continue;}
+            int effectColor = effect.getEffect().getColor();
+            int level = effect.getAmplifier() + 1;
+            mixedRed += (float) (level * (effectColor >> 16 & 255)) / 255.0F;
+            mixedGreen += (float) (level * (effectColor >> 8 & 255)) / 255.0F;
+            mixedBlue += (float) (level * (effectColor & 255)) / 255.0F;
+            mixedWeight += level;
+        }
+        return new ColorMix(mixedRed, mixedGreen, mixedBlue, mixedWeight, true);
+    }
+
+    /**
+     * @return the same color as {@link PotionUtils#getColor(Collection)} for the mixed effects
+     */
+    public int color() {
+        if (!hasEffects) {return CauldronVisualState.WATER_COLOR;}
+        if (weight == 0) {return 0;}
+        return (int) (red / (float) weight * 255.0F) << 16
+                | (int) (green / (float) weight * 255.0F) << 8
+                | (int) (blue / (float) weight * 255.0F);
+    }
+
+    @NotNull
+    public CompoundTag toTag() {
+        CompoundTag tag = new CompoundTag();
+        tag.putFloat(RED_KEY, red);
+        tag.putFloat(GREEN_KEY, green);
+        tag.putFloat(BLUE_KEY, blue);
+        tag.putInt(WEIGHT_KEY, weight);
+        tag.putBoolean(HAS_EFFECTS_KEY, hasEffects);
+        return tag;
+    }
+
+    @NotNull
+    public static ColorMix fromTag(@NotNull CompoundTag tag) {
+        return new ColorMix(tag.getFloat(RED_KEY), tag.getFloat(GREEN_KEY), tag.getFloat(BLUE_KEY),
+                tag.getInt(WEIGHT_KEY), tag.getBoolean(HAS_EFFECTS_KEY));
+    }
+
+    public void write(@NotNull FriendlyByteBuf buf) {
+        buf.writeFloat(red);
+        buf.writeFloat(green);
+        buf.writeFloat(blue);
+        buf.writeVarInt(weight);
+        buf.writeBoolean(hasEffects);
+    }
+
+    /**
+     * @return the number of bytes written by {@link #write(FriendlyByteBuf)}
+     */
+    public int encodedSize() {
+        return 3 * Float.BYTES + FriendlyByteBuf.getVarIntSize(weight) + Byte.BYTES;
+    }
+
+    @NotNull
+    public static ColorMix read(@NotNull FriendlyByteBuf buf) {
+        return new ColorMix(buf.readFloat(), buf.readFloat(), buf.readFloat(), buf.readVarInt(), buf.readBoolean());
+    }
+}
@@ -0,0 +1,96 @@
+package mod.motivationaldragon.potionblender.blockentities;
+
+import it.unimi.dsi.fastutil.longs.Long2LongMap;
+import it.unimi.dsi.fastutil.longs.Long2LongOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectIterator;
+import mod.motivationaldragon.potionblender.config.ConfigInstance;
+import net.minecraft.core.BlockPos;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.levelgen.structure.BoundingBox;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per chunk rate limit of cauldron overload explosions, see {@link ConfigInstance#explosion_cooldown_ticks}.
+ * Only used from the server thread.
+ */
+public class ExplosionThrottle {
+
+    /**
+     * Number of tracked chunks from which expired cooldowns are dropped
+     */
+    private static final int PRUNE_THRESHOLD = 256;
+
+    private static final Map<ResourceKey<Level>, Long2LongOpenHashMap> NEXT_EXPLOSION_GAME_TIME = new HashMap<>();
+    private static final List<Suspension> SUSPENSIONS = new ArrayList<>();
+
+    private record Suspension(ResourceKey<Level> dimension, BoundingBox area, long untilGameTime) {}
+
+    private ExplosionThrottle(){
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * @param cooldownTicks the minimum number of ticks between two explosions in a chunk, 0 disables the limit
+     * @return true if a cauldron at {@code pos} may explode now, in which case the cooldown of its chunk starts
+     */
+    static boolean tryAcquire(ServerLevel level, BlockPos pos, int cooldownTicks) {
+        if (cooldownTicks <= 0 || isSuspended(level, pos)) {return true;}
+        Long2LongOpenHashMap nextExplosion = NEXT_EXPLOSION_GAME_TIME.computeIfAbsent(level.dimension(), dimension -> new Long2LongOpenHashMap());
+        long gameTime = level.getGameTime();
+        long chunk = ChunkPos.asLong(pos);
+        if (gameTime < nextExplosion.get(chunk)) {
+            return false;
+        }
+        if (nextExplosion.size() >= PRUNE_THRESHOLD) {
+            ObjectIterator<Long2LongMap.Entry> entries = nextExplosion.long2LongEntrySet().fastIterator();
+            while (entries.hasNext()) {
+                if (entries.next().getLongValue() <= gameTime) {
+                    entries.remove();
+                }
+            }
+        }
+        nextExplosion.put(chunk, gameTime + cooldownTicks);
+        return true;
+    }
+
+    /**
+     * @return the number of ticks before a cauldron at {@code pos} may explode, 0 if it can explode now
+     */
+    static long ticksUntilAllowed(ServerLevel level, BlockPos pos) {
+        Long2LongOpenHashMap nextExplosion = NEXT_EXPLOSION_GAME_TIME.get(level.dimension());
+        if (nextExplosion == null) {return 0;}
+        return Math.max(0, nextExplosion.get(ChunkPos.asLong(pos)) - level.getGameTime());
+    }
+
+    /**
+     * Let the cauldrons in {@code area} explode without cooldown for {@code ticks} ticks, for load tests.
+     * The suspension expires by itself so a test that fails or times out cannot leave it behind
+     */
+    public static void suspend(ServerLevel level, BoundingBox area, int ticks) {
+        SUSPENSIONS.add(new Suspension(level.dimension(), area, level.getGameTime() + ticks));
+    }
+
+    private static boolean isSuspended(ServerLevel level, BlockPos pos) {
+        if (SUSPENSIONS.isEmpty()) {return false;}
+        long gameTime = level.getGameTime();
+        SUSPENSIONS.removeIf(suspension -> gameTime >= suspension.untilGameTime());
+        for (Suspension suspension : SUSPENSIONS) {
+            if (suspension.dimension() == level.dimension() && suspension.area().isInside(pos)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public static void onServerStopped() {
+        NEXT_EXPLOSION_GAME_TIME.clear();
+        SUSPENSIONS.clear();
+    }
+}
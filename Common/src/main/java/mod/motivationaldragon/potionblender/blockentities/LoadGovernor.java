@@ -0,0 +1,89 @@
+package mod.motivationaldragon.potionblender.blockentities;
+
+import mod.motivationaldragon.potionblender.Constants;
+import mod.motivationaldragon.potionblender.config.ConfigInstance;
+import mod.motivationaldragon.potionblender.config.PotionBlender;
+import mod.motivationaldragon.potionblender.metrics.PotionBlenderMetrics;
+import net.minecraft.server.MinecraftServer;
+
+/**
+ * Degrade cauldrons rather than the server when ticks take too long, see {@link ConfigInstance#load_shedding_mspt}.
+ * <p>
+ * While shedding load, cauldrons batch their client syncs, stop taking in potions, blend every craft on a worker
+ * thread so the result is applied on a later tick, and explode without breaking the surrounding blocks.
+ * Normal behavior is restored once the average tick time falls below {@link ConfigInstance#load_shedding_recovery_mspt},
+ * so the mode does not flip back and forth around a single threshold.
+ */
+public class LoadGovernor {
+
+    /**
+     * Number of ticks between two checks of the tick time
+     */
+    static final int CHECK_INTERVAL_TICKS = 20;
+
+    /**
+     * Minimum delay of batched syncs while shedding load
+     */
+    static final int SHEDDING_SYNC_INTERVAL_TICKS = 10;
+
+    private static volatile boolean shedding;
+    private static volatile float lastAverageTickMillis;
+
+    private LoadGovernor(){
+        throw new IllegalStateException("Utility class");
+    }
+
+    public static boolean isShedding() {
+        return shedding;
+    }
+
+    /**
+     * Check the average tick time. Called at the end of every server tick
+     */
+    public static void onServerTick(MinecraftServer server) {
+        if (server.getTickCount() % CHECK_INTERVAL_TICKS != 0) {return;}
+        ConfigInstance config = PotionBlender.getConfig();
+        float averageTickMillis = server.getAverageTickTime();
+        lastAverageTickMillis = averageTickMillis;
+
+        if (config.load_shedding_mspt <= 0) {
+            if (shedding) {
+                setShedding(false, averageTickMillis);
+            }
+            return;
+        }
+        if (!shedding && averageTickMillis >= config.load_shedding_mspt) {
+            setShedding(true, averageTickMillis);
+        } else if (shedding && averageTickMillis <= config.load_shedding_recovery_mspt) {
+            setShedding(false, averageTickMillis);
+        }
+    }
+
+    private static void setShedding(boolean active, float averageTickMillis) {
+        shedding = active;
+        if (active) {
+            PotionBlenderMetrics.LOAD_SHEDDING_ACTIVATIONS.increment();
+            Constants.LOG.warn("Average tick time is {}ms, cauldrons are degraded until the server recovers", "%.1f".formatted(averageTickMillis));
+        } else {
+            Constants.LOG.info("Average tick time is {}ms, cauldrons are back to normal", "%.1f".formatted(averageTickMillis));
+        }
+    }
+
+    /**
+     * @return a human readable state, for the stats command
+     */
+    public static String describe() {
+        ConfigInstance config = PotionBlender.getConfig();
+        if (config.load_shedding_mspt <= 0) {
+            return "Load shedding: disabled";
+        }
+        return "Load shedding: %s (average tick %.1fms, starts at %dms, stops at %dms, %d activations)".formatted(
+                shedding ? "active" : "inactive", lastAverageTickMillis, config.load_shedding_mspt,
+                config.load_shedding_recovery_mspt, PotionBlenderMetrics.LOAD_SHEDDING_ACTIVATIONS.sum());
+    }
+
+    public static void onServerStopped() {
+        shedding = false;
+        lastAverageTickMillis = 0;
+    }
+}
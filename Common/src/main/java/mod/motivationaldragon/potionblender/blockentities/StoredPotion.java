@@ -0,0 +1,92 @@
+package mod.motivationaldragon.potionblender.blockentities;
+
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.world.effect.MobEffectInstance;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+import net.minecraft.world.item.alchemy.Potion;
+import net.minecraft.world.item.alchemy.PotionUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A potion held by a {@link BrewingCauldronBlockEntity}.
+ * <p>
+ * A plain potion, whose only data is its potion type and custom effects, is kept as those two values and its stack is
+ * rebuilt when it leaves the cauldron. Any other stack (renamed, enchanted, extra data from other mods...) is kept
+ * as is in {@code original} so nothing is lost.
+ * Instances are immutable and can be shared between slots and cauldrons.
+ * @param potion the potion type
+ * @param customEffects effects added on top of the potion type, empty for most potions
+ * @param original the stack to give back, null if it can be rebuilt from the two other values
+ */
+public record StoredPotion(@NotNull Potion potion, @NotNull List<MobEffectInstance> customEffects, @Nullable ItemStack original) {
+
+    /**
+     * Tag keys of a potion stack that can be rebuilt
+     */
+    private static final Set<String> CANONICAL_KEYS = Set.of(PotionUtils.TAG_POTION, PotionUtils.TAG_CUSTOM_POTION_EFFECTS);
+
+    /**
+     * @param stack a potion stack, copied if needed so later changes to it do not affect the stored potion
+     */
+    @NotNull
+    public static StoredPotion of(@NotNull ItemStack stack) {
+        Potion potion = PotionUtils.getPotion(stack);
+        if (!isCanonical(stack)) {
+            return new StoredPotion(potion, List.of(), stack.copy());
+        }
+        return new StoredPotion(potion, List.copyOf(PotionUtils.getCustomEffects(stack)), null);
+    }
+
+    private static boolean isCanonical(ItemStack stack) {
+        if (!stack.is(Items.POTION) || stack.getCount() != 1) {return false;}
+        CompoundTag tag = stack.getTag();
+        return tag == null || CANONICAL_KEYS.containsAll(tag.getAllKeys());
+    }
+
+    /**
+     * @return every effect of the potion, like {@link PotionUtils#getMobEffects(ItemStack)}
+     */
+    @NotNull
+    public List<MobEffectInstance> getEffects() {
+        if (original != null) {
+            return PotionUtils.getMobEffects(original);
+        }
+        if (customEffects.isEmpty()) {
+            return potion.getEffects();
+        }
+        List<MobEffectInstance> effects = new ArrayList<>(potion.getEffects());
+        effects.addAll(customEffects);
+        return effects;
+    }
+
+    /**
+     * @return a new stack of this potion, the caller is free to modify it
+     */
+    @NotNull
+    public ItemStack toStack() {
+        if (original != null) {
+            return original.copy();
+        }
+        ItemStack stack = PotionUtils.setPotion(new ItemStack(Items.POTION), potion);
+        if (!customEffects.isEmpty()) {
+            PotionUtils.setCustomEffects(stack, customEffects);
+        }
+        return stack;
+    }
+
+    /**
+     * @return true if both would give back the same stack
+     */
+    public boolean isSameAs(@NotNull StoredPotion other) {
+        if (original != null || other.original != null) {
+            return original != null && other.original != null && ItemStack.isSameItemSameTags(original, other.original);
+        }
+        return potion == other.potion && customEffects.equals(other.customEffects);
+    }
+}
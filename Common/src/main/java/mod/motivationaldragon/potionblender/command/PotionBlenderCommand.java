@@ -0,0 +1,125 @@
+package mod.motivationaldragon.potionblender.command;
+
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.arguments.IntegerArgumentType;
+import com.mojang.brigadier.context.CommandContext;
+import mod.motivationaldragon.potionblender.Constants;
+import mod.motivationaldragon.potionblender.blockentities.CauldronIndex;
+import mod.motivationaldragon.potionblender.blockentities.LoadGovernor;
+import mod.motivationaldragon.potionblender.metrics.PotionBlenderMetrics;
+import mod.motivationaldragon.potionblender.profiling.CauldronProfiler;
+import mod.motivationaldragon.potionblender.trace.CauldronTraceRecorder;
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.commands.Commands;
+import net.minecraft.core.BlockPos;
+import net.minecraft.network.chat.Component;
+import net.minecraft.server.level.ServerLevel;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Operator command of the mod: {@code /potionblender}
+ */
+public class PotionBlenderCommand {
+
+    private static final int OPERATOR_PERMISSION_LEVEL = 2;
+    private static final int MAX_PROFILE_SECONDS = 300;
+    private static final int MAX_SEARCH_RADIUS = 1024;
+    private static final int LISTED_CAULDRONS = 10;
+
+    private PotionBlenderCommand(){
+        throw new IllegalStateException("Utility class");
+    }
+
+    public static void register(CommandDispatcher<CommandSourceStack> dispatcher) {
+        dispatcher.register(Commands.literal(Constants.MOD_ID)
+                .requires(source -> source.hasPermission(OPERATOR_PERMISSION_LEVEL))
+                .then(Commands.literal("stats")
+                        .executes(PotionBlenderCommand::printStats)
+                        .then(Commands.literal("reset")
+                                .executes(PotionBlenderCommand::resetStats)))
+                .then(Commands.literal("profile")
+                        .then(Commands.argument("seconds", IntegerArgumentType.integer(1, MAX_PROFILE_SECONDS))
+                                .executes(PotionBlenderCommand::startProfiling)))
+                .then(Commands.literal("trace")
+                        .then(Commands.literal("start")
+                                .executes(PotionBlenderCommand::startTrace))
+                        .then(Commands.literal("stop")
+                                .executes(PotionBlenderCommand::stopTrace)))
+                .then(Commands.literal("cauldrons")
+                        .then(Commands.argument("radius", IntegerArgumentType.integer(1, MAX_SEARCH_RADIUS))
+                                .executes(PotionBlenderCommand::findCauldrons))));
+    }
+
+    private static int printStats(CommandContext<CommandSourceStack> context) {
+        for (String line : PotionBlenderMetrics.describe()) {
+            context.getSource().sendSuccess(Component.literal(line), false);
+        }
+        context.getSource().sendSuccess(Component.literal(LoadGovernor.describe()), false);
+        for (ServerLevel level : context.getSource().getServer().getAllLevels()) {
+            CauldronIndex index = CauldronIndex.of(level);
+            if (index.size() > 0) {
+                context.getSource().sendSuccess(Component.literal("Cauldrons with potions in %s: %d in %d chunks".formatted(
+                        level.dimension().location(), index.size(), index.chunkCount())), false);
+            }
+        }
+        return 1;
+    }
+
+    private static int findCauldrons(CommandContext<CommandSourceStack> context) {
+        int radius = IntegerArgumentType.getInteger(context, "radius");
+        CommandSourceStack source = context.getSource();
+        List<BlockPos> found = CauldronIndex.of(source.getLevel()).findWithin(BlockPos.containing(source.getPosition()), radius);
+        source.sendSuccess(Component.literal("%d cauldrons with potions within %d blocks".formatted(found.size(), radius)), false);
+        found.stream().limit(LISTED_CAULDRONS)
+                .forEach(pos -> source.sendSuccess(Component.literal(" " + pos.toShortString()), false));
+        return found.size();
+    }
+
+    private static int startProfiling(CommandContext<CommandSourceStack> context) {
+        int seconds = IntegerArgumentType.getInteger(context, "seconds");
+        if (!CauldronProfiler.start(context.getSource(), seconds)) {
+            context.getSource().sendFailure(Component.literal("A cauldron profile is already running"));
+            return 0;
+        }
+        context.getSource().sendSuccess(Component.literal("Profiling cauldrons for %ds...".formatted(seconds)), true);
+        return 1;
+    }
+
+    private static int startTrace(CommandContext<CommandSourceStack> context) {
+        Path path;
+        try {
+            path = CauldronTraceRecorder.start();
+        } catch (IOException e) {
+            Constants.LOG.error("Could not create cauldron trace file");
+            e.printStackTrace();
+            context.getSource().sendFailure(Component.literal("Could not create trace file: " + e.getMessage()));
+            return 0;
+        }
+        if (path == null) {
+            context.getSource().sendFailure(Component.literal("A cauldron trace is already recorded"));
+            return 0;
+        }
+        context.getSource().sendSuccess(Component.literal("Recording cauldron trace to " + path), true);
+        return 1;
+    }
+
+    private static int stopTrace(CommandContext<CommandSourceStack> context) {
+        CauldronTraceRecorder.Recording recording = CauldronTraceRecorder.stop();
+        if (recording == null) {
+            context.getSource().sendFailure(Component.literal("No cauldron trace is recorded"));
+            return 0;
+        }
+        context.getSource().sendSuccess(Component.literal("Saved %d records to %s, %d dropped".formatted(
+                recording.getWritten(), recording.getPath(), recording.getDropped())), true);
+        return 1;
+    }
+
+    private static int resetStats(CommandContext<CommandSourceStack> context) {
+        PotionBlenderMetrics.reset();
+        context.getSource().sendSuccess(Component.literal("Potion Blender stats reset"), true);
+        return 1;
+    }
+}
@@ -1,8 +1,165 @@
 package mod.motivationaldragon.potionblender.config;
 
 
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Content of the config file. Field names are the JSON keys.
+ * An instance is never modified once published by {@link PotionBlender}, a reload swaps in a new one.
+ */
 public class ConfigInstance {
 
-    public final int max_effects = 3;
+    public enum SyncMode {
+        /**
+         * Every cauldron change is sent to clients right away
+         */
+        IMMEDIATE,
+        /**
+         * Cauldron changes are sent at most once every {@link #sync_interval_ticks}
+         */
+        BATCHED
+    }
+
+    public enum ExplosionMode {
+        /**
+         * A vanilla explosion that damages entities and breaks the surrounding blocks
+         */
+        VANILLA,
+        /**
+         * Only the cauldron is broken and nearby players are knocked back
+         */
+        LIGHTWEIGHT
+    }
+
+    public int max_effects = 3;
+
+    public SyncMode sync_mode = SyncMode.IMMEDIATE;
+
+    public int sync_interval_ticks = 4;
+
+    /**
+     * Distance in blocks within which players receive cauldron syncs. 0 sends them to every player tracking the chunk.
+     * Filling and emptying a cauldron changes its block state, which still reaches every player tracking the chunk
+     */
+    public int sync_radius = 0;
+
+    /**
+     * Maximum number of particles all cauldrons may spawn in a client tick
+     */
+    public int particle_budget = 64;
+
+    /**
+     * Client side, number of ticks a cauldron shows the predicted tint of a potion landed in it while waiting for the server. 0 disables the prediction
+     */
+    public int tint_prediction_ticks = 40;
+
+    /**
+     * Minimum number of ticks between two potions added to the same cauldron. 0 disables the limit
+     */
+    public int intake_cooldown_ticks = 0;
+
+    /**
+     * Number of effects from which a craft is blended on a worker thread instead of the server thread. 0 disables it
+     */
+    public int async_blend_threshold = 32;
+
+    /**
+     * Number of worker threads for asynchronous blends. Requires a restart
+     */
+    public int blend_threads = 2;
+
+    /**
+     * Number of tipped arrow crafting results kept in memory. 0 disables the cache
+     */
+    public int arrow_recipe_cache_size = 64;
+
+    /**
+     * Store the blend of new combined items in a per world registry, items then only carry its id
+     */
+    public boolean use_blend_registry = false;
+
+    /**
+     * Maximum stack size of combined potions. Only identical blends stack. Requires a restart, the server value is sent to clients
+     */
+    public int combined_potion_stack_size = 1;
+
+    /**
+     * Merge the cloud of a combined lingering potion into an overlapping cloud with the same effects
+     */
+    public boolean merge_lingering_clouds = true;
+
+    /**
+     * What happens when a combined item is thrown in a cauldron
+     */
+    public ExplosionMode explosion_mode = ExplosionMode.VANILLA;
+
+    /**
+     * Minimum number of ticks between two cauldron explosions in the same chunk. 0 disables the limit
+     */
+    public int explosion_cooldown_ticks = 20;
+
+    /**
+     * Average tick time in milliseconds from which cauldrons are degraded to lower the server load. 0 disables it
+     */
+    public int load_shedding_mspt = 0;
+
+    /**
+     * Average tick time in milliseconds under which cauldrons are back to normal. Lower than {@link #load_shedding_mspt}
+     */
+    public int load_shedding_recovery_mspt = 35;
+
+    /**
+     * @return a description of every invalid value, empty if the config is valid
+     */
+    public List<String> validate() {
+        List<String> errors = new ArrayList<>();
+        if (max_effects < 1 || max_effects > 64) {
+            errors.add("max_effects must be between 1 and 64, got " + max_effects);
+        }
+        if (sync_mode == null) {
+            errors.add("sync_mode must be one of IMMEDIATE, BATCHED");
+        }
+        if (sync_interval_ticks < 1 || sync_interval_ticks > 200) {
+            errors.add("sync_interval_ticks must be between 1 and 200, got " + sync_interval_ticks);
+        }
+        if (sync_radius < 0) {
+            errors.add("sync_radius must be positive, got " + sync_radius);
+        }
+        if (particle_budget < 0) {
+            errors.add("particle_budget must be positive, got " + particle_budget);
+        }
+        if (tint_prediction_ticks < 0) {
+            errors.add("tint_prediction_ticks must be positive, got " + tint_prediction_ticks);
+        }
+        if (intake_cooldown_ticks < 0) {
+            errors.add("intake_cooldown_ticks must be positive, got " + intake_cooldown_ticks);
+        }
+        if (async_blend_threshold < 0) {
+            errors.add("async_blend_threshold must be positive, got " + async_blend_threshold);
+        }
+        if (blend_threads < 1 || blend_threads > 16) {
+            errors.add("blend_threads must be between 1 and 16, got " + blend_threads);
+        }
+        if (arrow_recipe_cache_size < 0) {
+            errors.add("arrow_recipe_cache_size must be positive, got " + arrow_recipe_cache_size);
+        }
+        if (combined_potion_stack_size < 1 || combined_potion_stack_size > 64) {
+            errors.add("combined_potion_stack_size must be between 1 and 64, got " + combined_potion_stack_size);
+        }
+        if (explosion_mode == null) {
+            errors.add("explosion_mode must be one of VANILLA, LIGHTWEIGHT");
+        }
+        if (explosion_cooldown_ticks < 0) {
+            errors.add("explosion_cooldown_ticks must be positive, got " + explosion_cooldown_ticks);
+        }
+        if (load_shedding_mspt < 0) {
+            errors.add("load_shedding_mspt must be positive, got " + load_shedding_mspt);
+        }
+        if (load_shedding_mspt > 0 && (load_shedding_recovery_mspt < 0 || load_shedding_recovery_mspt >= load_shedding_mspt)) {
+            errors.add("load_shedding_recovery_mspt must be between 0 and load_shedding_mspt, got " + load_shedding_recovery_mspt);
+        }
+        return errors;
+    }
 
 }
@@ -2,12 +2,26 @@ package mod.motivationaldragon.potionblender.config;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
-import com.google.gson.JsonSyntaxException;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
 import mod.motivationaldragon.potionblender.Constants;
+import mod.motivationaldragon.potionblender.profiling.jfr.ConfigLoadEvent;
+import org.jetbrains.annotations.Nullable;
 
 import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.List;
+import java.util.Map;
 
 public class PotionBlender {
 
@@ -17,44 +31,33 @@ public class PotionBlender {
     private static final Path CONFIG_PATH = Path.of(Constants.MOD_ID, CONFIG_FILE_NAME);
     private static final Gson JSON_PARSER = new GsonBuilder().setPrettyPrinting().create();
 
-    private static ConfigInstance config;
+    /**
+     * The current config. Replaced as a whole on reload so readers always see a consistent instance
+     */
+    private static volatile ConfigInstance config;
 
     private static boolean isReady = false;
 
-
-    static {
-        readConfig();
-    }
-
     public static ConfigInstance getConfig(){
-        return config;
-    }
-
-    private static void readConfig(){
-
-        if(!isReady){init();}
-
-        try {
-            String jsonString = Files.readString(CONFIG_PATH);
-            PotionBlender.config = deserializeConfig(jsonString);
-            Constants.LOG.info("Loaded config");
-            return;
-        } catch (IOException e) {
-            Constants.LOG.error("Could not read config file");
-            e.printStackTrace();
+        ConfigInstance current = config;
+        if (current == null) {
+            //Only happens if something reads the config before mod initialisation
+            init();
+            current = config;
         }
-
-        Constants.LOG.warn("Unable to read config, using a default one as fallback");
-        PotionBlender.config = new ConfigInstance();
+        return current;
     }
 
-    public static void init() {
+    /**
+     * Create the config file if needed, load it and start watching it for changes.
+     * Called once during mod initialisation so no file access happens on the server thread afterwards.
+     */
+    public static synchronized void init() {
 
         if(isReady){return;}
         isReady = true;
 
-        Path configPath = Path.of(Constants.MOD_ID, CONFIG_FILE_NAME);
-        if(!Files.exists(configPath)){
+        if(!Files.exists(CONFIG_PATH)){
             try {
                 Path path = Path.of(Constants.MOD_ID);
                 Constants.LOG.info("No config file found, creating a new one at: %s...".formatted(path));
@@ -63,26 +66,138 @@ public class PotionBlender {
                 ConfigInstance configInstance = new ConfigInstance();
 
                 String jsonString = serializeConfig(configInstance);
-                Files.createFile(configPath);
-                Files.writeString(configPath, jsonString);
+                Files.createFile(CONFIG_PATH);
+                Files.writeString(CONFIG_PATH, jsonString);
 
             }catch (IOException e){
                 Constants.LOG.error("Could not access config file");
                 e.printStackTrace();
             }
         }
+
+        ConfigInstance loaded = readConfig(false);
+        if (loaded == null) {
+            Constants.LOG.warn("Unable to read config, using a default one as fallback");
+            loaded = new ConfigInstance();
+        }
+        config = loaded;
+        Constants.LOG.info("Loaded config");
+
+        startWatcher();
     }
 
+    /**
+     * Read and validate the config file
+     * @param reload true when the file is read again after a change
+     * @return the config, or null if the file could not be read or is invalid
+     */
+    @Nullable
+    private static ConfigInstance readConfig(boolean reload){
+        ConfigLoadEvent event = new ConfigLoadEvent();
+        event.begin();
+        ConfigInstance read = null;
+        try {
+            read = parseConfig(Files.readString(CONFIG_PATH));
+        } catch (IOException e) {
+            Constants.LOG.error("Could not read config file");
+            e.printStackTrace();
+        }
+        event.reload = reload;
+        event.success = read != null;
+        event.commit();
+        return read;
+    }
 
-    public static ConfigInstance deserializeConfig(String configAsJson){
+    /**
+     * Reload the config file. The current config is kept if the new one is invalid
+     */
+    private static void reloadConfig() {
+        ConfigInstance reloaded = readConfig(true);
+        if (reloaded == null) {
+            Constants.LOG.warn("Config file changed but is invalid, keeping the current config");
+            return;
+        }
+        config = reloaded;
+        Constants.LOG.info("Reloaded config");
+    }
+
+    private static void startWatcher() {
+        Thread watcher = new Thread(PotionBlender::watchConfigFile, "Potion-Blender config watcher");
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+
+    private static void watchConfigFile() {
+        Path directory = CONFIG_PATH.toAbsolutePath().getParent();
+        try (WatchService watchService = FileSystems.getDefault().newWatchService()) {
+            directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+            while (true) {
+                WatchKey key = watchService.take();
+                boolean configChanged = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.context() instanceof Path changed && changed.getFileName().toString().equals(CONFIG_FILE_NAME)) {
+                        configChanged = true;
+                    }
+                }
+                if (configChanged) {
+                    reloadConfig();
+                }
+                if (!key.reset()) {
+                    Constants.LOG.warn("Config directory is no longer accessible, config hot reload is disabled");
+                    return;
+                }
+            }
+        } catch (IOException e) {
+            Constants.LOG.error("Could not watch config file, config hot reload is disabled");
+            e.printStackTrace();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Parse and validate a config
+     * @return the config, or null if the JSON is malformed or a value is invalid
+     */
+    @Nullable
+    private static ConfigInstance parseConfig(String configAsJson) {
         try {
-            return JSON_PARSER.fromJson(configAsJson, ConfigInstance.class);
-        }catch (JsonSyntaxException e){
+            JsonElement json = JsonParser.parseString(configAsJson);
+            if (!json.isJsonObject()) {
+                Constants.LOG.error("Config must be a JSON object");
+                return null;
+            }
+            warnUnknownKeys(json.getAsJsonObject());
+
+            ConfigInstance parsed = JSON_PARSER.fromJson(json, ConfigInstance.class);
+            List<String> errors = parsed.validate();
+            if (!errors.isEmpty()) {
+                errors.forEach(error -> Constants.LOG.error("Invalid config: {}", error));
+                return null;
+            }
+            return parsed;
+        } catch (JsonParseException e) {
             Constants.LOG.error("Could not parse config JSON. Make sure syntax is correct");
             e.printStackTrace();
+            return null;
+        }
+    }
+
+    private static void warnUnknownKeys(JsonObject json) {
+        for (Map.Entry<String, JsonElement> entry : json.entrySet()) {
+            if (!isConfigField(entry.getKey())) {
+                Constants.LOG.warn("Unknown config option '{}' is ignored", entry.getKey());
+            }
+        }
+    }
+
+    private static boolean isConfigField(String name) {
+        for (Field field : ConfigInstance.class.getFields()) {
+            if (!Modifier.isStatic(field.getModifiers()) && field.getName().equals(name)) {
+                return true;
+            }
         }
-        Constants.LOG.warn("Unable to deserialize config, using a default one as fallback");
-        return new ConfigInstance();
+        return false;
     }
 
     public static String serializeConfig(ConfigInstance config){
@@ -2,7 +2,12 @@ package mod.motivationaldragon.potionblender.item;
 
 import mod.motivationaldragon.potionblender.Constants;
 import mod.motivationaldragon.potionblender.block.PotionBlenderBlock;
+import mod.motivationaldragon.potionblender.config.PotionBlender;
+import mod.motivationaldragon.potionblender.mixins.ItemAccessor;
+import mod.motivationaldragon.potionblender.networking.CombinedPotionStackSizeS2CPacket;
+import mod.motivationaldragon.potionblender.platform.Service;
 import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.item.Item;
 
 import java.util.function.BiConsumer;
@@ -16,14 +21,17 @@ public class ModItem {
 
     /* Potions Item */
 
+    //Read once at startup. Clients use the server's value while connected and go back to this one when leaving
+    private static final int COMBINED_POTION_STACK_SIZE = PotionBlender.getConfig().combined_potion_stack_size;
+
     public static final Item COMBINED_POTION = new CombinedPotionItem(
-            new Item.Properties().stacksTo(1));
+            new Item.Properties().stacksTo(COMBINED_POTION_STACK_SIZE));
 
     public static final Item COMBINED_SPLASH_POTION = new SplashCombinedPotion(
-            new Item.Properties().stacksTo(1));
+            new Item.Properties().stacksTo(COMBINED_POTION_STACK_SIZE));
 
     public static final Item COMBINED_LINGERING_POTION = new LingeringCombinedPotionItem(
-            new Item.Properties().stacksTo(1));
+            new Item.Properties().stacksTo(COMBINED_POTION_STACK_SIZE));
 
 
     public static void register(BiConsumer<Item, ResourceLocation> r){
@@ -33,6 +41,38 @@ public class ModItem {
         Constants.LOG.debug("Registered Items!");
     }
 
+    /**
+     * Send the stack size of combined potions to a player joining the server, the server config is authoritative
+     */
+    public static void onPlayerJoin(ServerPlayer player) {
+        //The items may hold the size of a remote server visited before, an integrated server shares them with its client
+        Service.PLATFORM.sendToPlayer(player, new CombinedPotionStackSizeS2CPacket(COMBINED_POTION_STACK_SIZE));
+    }
+
+    /**
+     * Client side, apply the stack size of combined potions received from the server
+     */
+    public static void setCombinedPotionStackSize(int stackSize) {
+        if (stackSize < 1 || stackSize > Item.MAX_STACK_SIZE) {
+            Constants.LOG.warn("Ignored invalid combined potion stack size {} sent by the server", stackSize);
+            return;
+        }
+        applyCombinedPotionStackSize(stackSize);
+    }
+
+    /**
+     * Client side, go back to the local stack size of combined potions when leaving a server
+     */
+    public static void onClientDisconnect() {
+        applyCombinedPotionStackSize(COMBINED_POTION_STACK_SIZE);
+    }
+
+    private static void applyCombinedPotionStackSize(int stackSize) {
+        ((ItemAccessor) COMBINED_POTION).potionblender_setMaxStackSize(stackSize);
+        ((ItemAccessor) COMBINED_SPLASH_POTION).potionblender_setMaxStackSize(stackSize);
+        ((ItemAccessor) COMBINED_LINGERING_POTION).potionblender_setMaxStackSize(stackSize);
+    }
+
     public static void registerFunctionalBlocksItems(Consumer<Item> r){
         r.accept(PotionBlenderBlock.BREWING_CAULDRON_ITEM);
     }
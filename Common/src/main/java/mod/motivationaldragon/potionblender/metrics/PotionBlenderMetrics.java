@@ -0,0 +1,154 @@
+package mod.motivationaldragon.potionblender.metrics;
+
+import mod.motivationaldragon.potionblender.Constants;
+import net.minecraft.resources.ResourceLocation;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Process wide counters of the mod. Recording is lock free and cheap enough to stay always on.
+ * Exposed through the {@code /potionblender stats} command and the {@link PotionBlenderMetricsMXBean} JMX bean.
+ */
+public class PotionBlenderMetrics {
+
+    public static final String MBEAN_NAME = "mod.motivationaldragon.potionblender:type=Metrics";
+
+    public static final LongAdder INTAKES = new LongAdder();
+    public static final LongAdder EXPLOSIONS = new LongAdder();
+    /**
+     * Explosions delayed by the per chunk cooldown, the overloaded cauldron explodes once the cooldown is over
+     */
+    public static final LongAdder THROTTLED_EXPLOSIONS = new LongAdder();
+    public static final LongAdder SYNC_PACKETS = new LongAdder();
+    public static final LongAdder SYNC_BYTES = new LongAdder();
+    /**
+     * Syncs sent late to players that came within the sync radius
+     */
+    public static final LongAdder SYNC_CATCH_UPS = new LongAdder();
+    public static final LongAdder COLOR_RECOMPUTATIONS = new LongAdder();
+    public static final LongAdder ASYNC_BLENDS = new LongAdder();
+    /**
+     * Asynchronous blends discarded because the cauldron changed or the blend failed
+     */
+    public static final LongAdder STALE_BLENDS = new LongAdder();
+    public static final LongAdder CLOUDS_MERGED = new LongAdder();
+    /**
+     * Number of times cauldrons were degraded because of a high tick time
+     */
+    public static final LongAdder LOAD_SHEDDING_ACTIVATIONS = new LongAdder();
+
+    /**
+     * Time spent merging effects and computing the color of a crafted potion
+     */
+    public static final Timer BLEND_TIME = new Timer();
+
+    private static final Map<ResourceLocation, LongAdder> CRAFTS_PER_RECIPE = new ConcurrentHashMap<>();
+    private static final Map<String, CacheStats> CACHES = new ConcurrentHashMap<>();
+
+    public static final CacheStats WATER_COLOR_CACHE = cache("water_color");
+
+    private PotionBlenderMetrics(){
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * @param name the name the cache is reported under
+     * @return the stats of the cache, created on first call
+     */
+    public static CacheStats cache(String name) {
+        return CACHES.computeIfAbsent(name, n -> new CacheStats());
+    }
+
+    /**
+     * @param result the id of the crafted item
+     */
+    public static void recordCraft(ResourceLocation result) {
+        CRAFTS_PER_RECIPE.computeIfAbsent(result, r -> new LongAdder()).increment();
+    }
+
+    /**
+     * @param players the number of players the packet was sent to
+     * @param payloadBytes the size of the packet payload
+     */
+    public static void recordSync(int players, int payloadBytes) {
+        SYNC_PACKETS.add(players);
+        SYNC_BYTES.add((long) players * payloadBytes);
+    }
+
+    public static Map<String, Long> getCraftsPerRecipe() {
+        Map<String, Long> crafts = new TreeMap<>();
+        CRAFTS_PER_RECIPE.forEach((recipe, count) -> crafts.put(recipe.toString(), count.sum()));
+        return crafts;
+    }
+
+    public static Map<String, Double> getCacheHitRates() {
+        Map<String, Double> rates = new TreeMap<>();
+        CACHES.forEach((name, stats) -> rates.put(name, stats.getHitRate()));
+        return rates;
+    }
+
+    public static Map<String, CacheStats> getCaches() {
+        return new TreeMap<>(CACHES);
+    }
+
+    public static void reset() {
+        INTAKES.reset();
+        EXPLOSIONS.reset();
+        THROTTLED_EXPLOSIONS.reset();
+        SYNC_PACKETS.reset();
+        SYNC_BYTES.reset();
+        SYNC_CATCH_UPS.reset();
+        COLOR_RECOMPUTATIONS.reset();
+        ASYNC_BLENDS.reset();
+        STALE_BLENDS.reset();
+        CLOUDS_MERGED.reset();
+        LOAD_SHEDDING_ACTIVATIONS.reset();
+        BLEND_TIME.reset();
+        CRAFTS_PER_RECIPE.values().forEach(LongAdder::reset);
+        CACHES.values().forEach(CacheStats::reset);
+    }
+
+    /**
+     * @return a human readable report, one line per metric
+     */
+    public static List<String> describe() {
+        List<String> lines = new ArrayList<>();
+        lines.add("Intakes: " + INTAKES.sum());
+        lines.add("Crafts: " + getCraftsPerRecipe());
+        lines.add("Explosions: %d (%d throttled)".formatted(EXPLOSIONS.sum(), THROTTLED_EXPLOSIONS.sum()));
+        lines.add("Sync packets: %d (%d bytes, %d catch-ups)".formatted(SYNC_PACKETS.sum(), SYNC_BYTES.sum(), SYNC_CATCH_UPS.sum()));
+        lines.add("Blend time: %d blends, mean %.1fµs, max %dµs".formatted(BLEND_TIME.getCount(),
+                BLEND_TIME.getMeanMicros(), TimeUnit.NANOSECONDS.toMicros(BLEND_TIME.getMaxNanos())));
+        lines.add("Asynchronous blends: %d (%d discarded)".formatted(ASYNC_BLENDS.sum(), STALE_BLENDS.sum()));
+        lines.add("Lingering clouds merged: " + CLOUDS_MERGED.sum());
+        lines.add("Color recomputations: " + COLOR_RECOMPUTATIONS.sum());
+        getCaches().forEach((name, stats) -> lines.add("Cache %s: %d hits, %d misses (%.1f%%)".formatted(name,
+                stats.getHits(), stats.getMisses(), stats.getHitRate() * 100)));
+        return lines;
+    }
+
+    /**
+     * Expose the metrics to JMX so they can be scraped from the server JVM
+     */
+    public static void registerMBean() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(MBEAN_NAME);
+            if (!server.isRegistered(name)) {
+                server.registerMBean(new PotionBlenderMetricsMXBeanImpl(), name);
+            }
+        } catch (JMException | SecurityException e) {
+            Constants.LOG.warn("Could not register the metrics JMX bean", e);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package mod.motivationaldragon.potionblender.metrics;
+
+import java.util.Map;
+
+/**
+ * JMX view of {@link PotionBlenderMetrics}
+ */
+public interface PotionBlenderMetricsMXBean {
+
+    long getIntakes();
+
+    Map<String, Long> getCraftsPerRecipe();
+
+    long getExplosions();
+
+    long getThrottledExplosions();
+
+    long getSyncPackets();
+
+    long getSyncBytes();
+
+    long getSyncCatchUps();
+
+    long getBlendCount();
+
+    double getBlendMeanMicros();
+
+    long getBlendMaxNanos();
+
+    long getAsyncBlends();
+
+    long getStaleBlends();
+
+    long getCloudsMerged();
+
+    long getLoadSheddingActivations();
+
+    boolean isLoadShedding();
+
+    long getColorRecomputations();
+
+    Map<String, Double> getCacheHitRates();
+
+    void reset();
+}
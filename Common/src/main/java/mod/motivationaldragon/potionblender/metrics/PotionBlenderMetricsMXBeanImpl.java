@@ -0,0 +1,98 @@
+package mod.motivationaldragon.potionblender.metrics;
+
+import mod.motivationaldragon.potionblender.blockentities.LoadGovernor;
+
+import java.util.Map;
+
+class PotionBlenderMetricsMXBeanImpl implements PotionBlenderMetricsMXBean {
+
+    @Override
+    public long getIntakes() {
+        return PotionBlenderMetrics.INTAKES.sum();
+    }
+
+    @Override
+    public Map<String, Long> getCraftsPerRecipe() {
+        return PotionBlenderMetrics.getCraftsPerRecipe();
+    }
+
+    @Override
+    public long getExplosions() {
+        return PotionBlenderMetrics.EXPLOSIONS.sum();
+    }
+
+    @Override
+    public long getThrottledExplosions() {
+        return PotionBlenderMetrics.THROTTLED_EXPLOSIONS.sum();
+    }
+
+    @Override
+    public long getSyncPackets() {
+        return PotionBlenderMetrics.SYNC_PACKETS.sum();
+    }
+
+    @Override
+    public long getSyncBytes() {
+        return PotionBlenderMetrics.SYNC_BYTES.sum();
+    }
+
+    @Override
+    public long getSyncCatchUps() {
+        return PotionBlenderMetrics.SYNC_CATCH_UPS.sum();
+    }
+
+    @Override
+    public long getBlendCount() {
+        return PotionBlenderMetrics.BLEND_TIME.getCount();
+    }
+
+    @Override
+    public double getBlendMeanMicros() {
+        return PotionBlenderMetrics.BLEND_TIME.getMeanMicros();
+    }
+
+    @Override
+    public long getBlendMaxNanos() {
+        return PotionBlenderMetrics.BLEND_TIME.getMaxNanos();
+    }
+
+    @Override
+    public long getAsyncBlends() {
+        return PotionBlenderMetrics.ASYNC_BLENDS.sum();
+    }
+
+    @Override
+    public long getStaleBlends() {
+        return PotionBlenderMetrics.STALE_BLENDS.sum();
+    }
+
+    @Override
+    public long getCloudsMerged() {
+        return PotionBlenderMetrics.CLOUDS_MERGED.sum();
+    }
+
+    @Override
+    public long getLoadSheddingActivations() {
+        return PotionBlenderMetrics.LOAD_SHEDDING_ACTIVATIONS.sum();
+    }
+
+    @Override
+    public boolean isLoadShedding() {
+        return LoadGovernor.isShedding();
+    }
+
+    @Override
+    public long getColorRecomputations() {
+        return PotionBlenderMetrics.COLOR_RECOMPUTATIONS.sum();
+    }
+
+    @Override
+    public Map<String, Double> getCacheHitRates() {
+        return PotionBlenderMetrics.getCacheHitRates();
+    }
+
+    @Override
+    public void reset() {
+        PotionBlenderMetrics.reset();
+    }
+}
@@ -0,0 +1,29 @@
+package mod.motivationaldragon.potionblender.mixins;
+
+import mod.motivationaldragon.potionblender.utils.BlendSignatureHolder;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.world.entity.AreaEffectCloud;
+import org.jetbrains.annotations.Nullable;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Unique;
+
+@Mixin(AreaEffectCloud.class)
+public abstract class AreaEffectCloudMixin implements BlendSignatureHolder {
+
+    /**
+     * Not saved, clouds loaded from disk are simply not merged
+     */
+    @Unique
+    @Nullable
+    private ListTag potionblender$blendSignature;
+
+    @Override
+    public @Nullable ListTag potionblender$getBlendSignature() {
+        return potionblender$blendSignature;
+    }
+
+    @Override
+    public void potionblender$setBlendSignature(@Nullable ListTag signature) {
+        this.potionblender$blendSignature = signature;
+    }
+}
@@ -0,0 +1,13 @@
+package mod.motivationaldragon.potionblender.mixins;
+
+import net.minecraft.world.item.Item;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Mutable;
+import org.spongepowered.asm.mixin.gen.Accessor;
+
+@Mixin(Item.class)
+public interface ItemAccessor {
+		@Mutable
+		@Accessor("maxStackSize")
+		void potionblender_setMaxStackSize(int maxStackSize);
+}
@@ -1,12 +1,26 @@
 package mod.motivationaldragon.potionblender.mixins;
 
+import mod.motivationaldragon.potionblender.blend.CombinedSplashApplier;
+import mod.motivationaldragon.potionblender.blend.LingeringCloudMerger;
 import mod.motivationaldragon.potionblender.item.ModItem;
+import mod.motivationaldragon.potionblender.utils.BlendSignatureHolder;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.world.effect.MobEffectInstance;
+import net.minecraft.world.entity.AreaEffectCloud;
+import net.minecraft.world.entity.Entity;
 import net.minecraft.world.entity.projectile.ThrownPotion;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.alchemy.Potion;
+import org.jetbrains.annotations.Nullable;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.ModifyArg;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
 
+import java.util.List;
+
 @Mixin(ThrownPotion.class)
 public abstract class PotionEntityMixin {
 
@@ -21,4 +35,42 @@ public abstract class PotionEntityMixin {
         }
     }
 
+    /**
+     * Apply combined splash potions with {@link CombinedSplashApplier}, which scales the effects once per distance step
+     */
+    @Inject(method = "applySplash", at = @At("HEAD"), cancellable = true)
+    private void applyCombinedSplash(List<MobEffectInstance> effects, @Nullable Entity hitEntity, CallbackInfo ci){
+        ThrownPotion thrownPotion = (ThrownPotion) (Object) this;
+        if (thrownPotion.getItem().is(ModItem.COMBINED_SPLASH_POTION)) {
+            CombinedSplashApplier.applySplash(thrownPotion, effects, hitEntity);
+            ci.cancel();
+        }
+    }
+
+    /**
+     * Merge the cloud of a combined lingering potion into an overlapping cloud with the same effects
+     */
+    @Inject(method = "makeAreaOfEffectCloud", at = @At("HEAD"), cancellable = true)
+    private void mergeAreaOfEffectCloud(ItemStack stack, Potion potion, CallbackInfo ci){
+        ThrownPotion thrownPotion = (ThrownPotion) (Object) this;
+        if (stack.is(ModItem.COMBINED_LINGERING_POTION)
+                && LingeringCloudMerger.tryMerge(thrownPotion.getLevel(), thrownPotion.position(), stack)) {
+            ci.cancel();
+        }
+    }
+
+    /**
+     * Remember the effects of clouds spawned by combined lingering potions, so later clouds can be merged into them
+     */
+    @ModifyArg(method = "makeAreaOfEffectCloud", at = @At(value = "INVOKE",
+            target = "Lnet/minecraft/world/level/Level;addFreshEntity(Lnet/minecraft/world/entity/Entity;)Z"))
+    private Entity tagAreaOfEffectCloud(Entity entity){
+        ItemStack stack = ((ThrownPotion) (Object) this).getItem();
+        if (entity instanceof AreaEffectCloud cloud && stack.is(ModItem.COMBINED_LINGERING_POTION)) {
+            ListTag signature = LingeringCloudMerger.signatureOf(stack);
+            ((BlendSignatureHolder) cloud).potionblender$setBlendSignature(signature == null ? null : signature.copy());
+        }
+        return entity;
+    }
+
 }
@@ -1,25 +1,54 @@
 package mod.motivationaldragon.potionblender.mixins;
 
 
+import mod.motivationaldragon.potionblender.blend.BlendTable;
 import mod.motivationaldragon.potionblender.utils.ModNBTKey;
 import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.Tag;
+import net.minecraft.world.effect.MobEffectInstance;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.alchemy.PotionUtils;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
 
+import java.util.List;
+
 @Mixin(PotionUtils.class)
 public abstract class PotionUtilMixin {
 
-    //Color a normal tipped arrow if used as a combined arrow
+    //Color a normal tipped arrow if used as a combined arrow.
+    //Arrows crafted since the color is stored in CustomPotionColor are left to vanilla, only older arrows need this
     @Inject(method = "getColor*", at = @At("RETURN"), cancellable = true)
     private static int getColor(ItemStack stack, CallbackInfoReturnable<Integer> cir) {
         CompoundTag nbtCompound = stack.getTag();
-        if (nbtCompound != null && nbtCompound.contains(ModNBTKey.FORCE_COLOR_RENDERING_KEY) && nbtCompound.getBoolean(ModNBTKey.FORCE_COLOR_RENDERING_KEY)) {
+        if (nbtCompound != null && nbtCompound.contains(ModNBTKey.FORCE_COLOR_RENDERING_KEY) && nbtCompound.getBoolean(ModNBTKey.FORCE_COLOR_RENDERING_KEY)
+                && !nbtCompound.contains(PotionUtils.TAG_CUSTOM_POTION_COLOR, Tag.TAG_ANY_NUMERIC)) {
             cir.setReturnValue(PotionUtils.getColor(PotionUtils.getMobEffects(stack)));
         }
         return cir.getReturnValue();
     }
+
+    //Resolve the effects of items that carry a blend id instead of their effect list
+    @Inject(method = "getCustomEffects(Lnet/minecraft/nbt/CompoundTag;Ljava/util/List;)V", at = @At("TAIL"))
+    private static void getBlendEffects(CompoundTag tag, List<MobEffectInstance> effects, CallbackInfo ci) {
+        if (tag == null || !tag.contains(ModNBTKey.BLEND_ID_KEY, Tag.TAG_INT)) {
+            return;
+        }
+        BlendTable.Entry entry = BlendTable.get(tag.getInt(ModNBTKey.BLEND_ID_KEY));
+        if (entry == null) {
+            return;
+        }
+        ListTag blendEffects = entry.effects();
+        for (int i = 0; i < blendEffects.size(); i++) {
+            //Instances are mutable so a new one is parsed on every call, like vanilla does for custom effects
+            MobEffectInstance effect = MobEffectInstance.load(blendEffects.getCompound(i));
+            if (effect != null) {
+                effects.add(effect);
+            }
+        }
+    }
 }
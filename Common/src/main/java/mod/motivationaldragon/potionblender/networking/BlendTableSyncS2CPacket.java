@@ -0,0 +1,63 @@
+package mod.motivationaldragon.potionblender.networking;
+
+import mod.motivationaldragon.potionblender.Constants;
+import mod.motivationaldragon.potionblender.blend.BlendTable;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.Tag;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.resources.ResourceLocation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Send blends of the {@link mod.motivationaldragon.potionblender.blend.BlendRegistry} to clients so they can resolve
+ * the blend ids of combined items
+ * @param reset true if the entries replace the whole client table, false if they are added to it
+ */
+public record BlendTableSyncS2CPacket(boolean reset, List<BlendTable.Entry> entries) implements PotionBlenderPacket {
+
+	public static final ResourceLocation fabricChannel = new ResourceLocation(Constants.MOD_ID, "blend_table_sync");
+
+	private static final String EFFECTS_KEY = "Effects";
+
+	@Override
+	public void encode(FriendlyByteBuf buf) {
+		buf.writeBoolean(reset);
+		buf.writeVarInt(entries.size());
+		for (BlendTable.Entry entry : entries) {
+			buf.writeVarInt(entry.id());
+			buf.writeInt(entry.color());
+			CompoundTag effects = new CompoundTag();
+			effects.put(EFFECTS_KEY, entry.effects());
+			buf.writeNbt(effects);
+		}
+	}
+
+	public static BlendTableSyncS2CPacket decode(FriendlyByteBuf buf) {
+		boolean reset = buf.readBoolean();
+		int size = buf.readVarInt();
+		List<BlendTable.Entry> entries = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			int id = buf.readVarInt();
+			int color = buf.readInt();
+			CompoundTag effects = buf.readNbt();
+			entries.add(new BlendTable.Entry(id, effects == null ? new ListTag() : effects.getList(EFFECTS_KEY, Tag.TAG_COMPOUND), color));
+		}
+		return new BlendTableSyncS2CPacket(reset, entries);
+	}
+
+	public static void handle(BlendTableSyncS2CPacket packet) {
+		if (packet.reset()) {
+			BlendTable.replaceAll(packet.entries());
+		} else {
+			packet.entries().forEach(BlendTable::put);
+		}
+	}
+
+	@Override
+	public ResourceLocation getFabricId() {
+		return fabricChannel;
+	}
+}
@@ -2,24 +2,32 @@ package mod.motivationaldragon.potionblender.networking;
 
 import mod.motivationaldragon.potionblender.Constants;
 import mod.motivationaldragon.potionblender.blockentities.BrewingCauldronBlockEntity;
+import mod.motivationaldragon.potionblender.blockentities.CauldronVisualState;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.multiplayer.ClientLevel;
 import net.minecraft.core.BlockPos;
-import net.minecraft.core.NonNullList;
 import net.minecraft.network.FriendlyByteBuf;
 import net.minecraft.resources.ResourceLocation;
-import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.level.block.Block;
 
-public record BrewingCauldronInvSyncS2CPacket(NonNullList<ItemStack> inv, BlockPos containerLocation) implements PotionBlenderPacket {
+/**
+ * Sync the visual state of a cauldron with the client. The inventory itself is never sent.
+ */
+public record BrewingCauldronInvSyncS2CPacket(BlockPos containerLocation, CauldronVisualState visualState) implements PotionBlenderPacket {
 
 	public static final ResourceLocation fabricChannel = new ResourceLocation(Constants.MOD_ID, "brewing_cauldron_sync_inv");
 
+	@Override
 	public void encode(FriendlyByteBuf buf){
-		buf.writeInt(inv.size());
-		for(ItemStack item : inv) {
-			buf.writeItem(item);
-		}
 		buf.writeBlockPos(containerLocation);
+		visualState.write(buf);
+	}
+
+	/**
+	 * @return the number of bytes written by {@link #encode(FriendlyByteBuf)}
+	 */
+	public int encodedSize() {
+		return Long.BYTES + visualState.encodedSize();
 	}
 
 	public static void handle(BrewingCauldronInvSyncS2CPacket packet) {
@@ -27,10 +35,13 @@ public record BrewingCauldronInvSyncS2CPacket(NonNullList<ItemStack> inv, BlockP
 		BlockPos containerLocation = packet.containerLocation();
 		ClientLevel level = Minecraft.getInstance().level;
 
-		if (level == null || level.hasChunkAt(containerLocation)) return;
+		//Ignore syncs of cauldrons in chunks this client has not loaded
+		if (level == null || !level.hasChunkAt(containerLocation)) return;
 
 		if(level.getBlockEntity(containerLocation) instanceof BrewingCauldronBlockEntity blockEntity) {
-			blockEntity.setInventory(packet.inv);
+			blockEntity.setClientVisualState(packet.visualState());
+			//Re-render the block so the new tint is visible
+			level.sendBlockUpdated(containerLocation, blockEntity.getBlockState(), blockEntity.getBlockState(), Block.UPDATE_IMMEDIATE);
 		}
 	}
 
@@ -40,16 +51,9 @@ public record BrewingCauldronInvSyncS2CPacket(NonNullList<ItemStack> inv, BlockP
 	}
 
 	public static BrewingCauldronInvSyncS2CPacket decode(FriendlyByteBuf buf) {
-
-		int size = buf.readInt();
-		NonNullList<ItemStack> list = NonNullList.withSize(size, ItemStack.EMPTY);
-		for(int i = 0; i < size; i++) {
-			list.set(i, buf.readItem());
-		}
-
 		return new BrewingCauldronInvSyncS2CPacket(
-				list,
-				buf.readBlockPos()
+				buf.readBlockPos(),
+				CauldronVisualState.read(buf)
 		);
 	}
 }
@@ -0,0 +1,129 @@
+package mod.motivationaldragon.potionblender.networking;
+
+import mod.motivationaldragon.potionblender.blockentities.BrewingCauldronBlockEntity;
+import mod.motivationaldragon.potionblender.config.ConfigInstance;
+import mod.motivationaldragon.potionblender.config.PotionBlender;
+import mod.motivationaldragon.potionblender.metrics.PotionBlenderMetrics;
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.level.ChunkPos;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Restrict cauldron syncs to the players within {@link ConfigInstance#sync_radius} of the cauldron.
+ * <p>
+ * Players tracking the chunk but farther away are remembered as stale viewers of the cauldron, and get the latest state
+ * once they come within the radius. Players who stop tracking the chunk are forgotten, the chunk data they receive
+ * when tracking it again already contains the current state.
+ * Only used from the server thread.
+ */
+public class CauldronSyncInterest {
+
+    /**
+     * Number of ticks between two checks of the stale viewers
+     */
+    private static final int CATCH_UP_INTERVAL_TICKS = 10;
+
+    private static final Map<BrewingCauldronBlockEntity, Set<UUID>> STALE_VIEWERS = new HashMap<>();
+
+    private CauldronSyncInterest(){
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * @return true if syncs are restricted to nearby players
+     */
+    public static boolean isEnabled() {
+        return PotionBlender.getConfig().sync_radius > 0;
+    }
+
+    /**
+     * Select the players that should receive a sync of {@code cauldron} now and remember the other players tracking it
+     * @return the players to send the sync to
+     */
+    public static List<ServerPlayer> selectTargets(BrewingCauldronBlockEntity cauldron, ServerLevel level) {
+        List<ServerPlayer> tracking = getTrackingPlayers(level, cauldron.getBlockPos());
+        int radius = PotionBlender.getConfig().sync_radius;
+        if (radius <= 0) {
+            STALE_VIEWERS.remove(cauldron);
+            return tracking;
+        }
+
+        List<ServerPlayer> targets = new ArrayList<>(tracking.size());
+        Set<UUID> stale = new HashSet<>();
+        for (ServerPlayer player : tracking) {
+            if (isInRange(player, cauldron.getBlockPos(), radius)) {
+                targets.add(player);
+            } else {
+                stale.add(player.getUUID());
+            }
+        }
+        if (stale.isEmpty()) {
+            STALE_VIEWERS.remove(cauldron);
+        } else {
+            STALE_VIEWERS.put(cauldron, stale);
+        }
+        return targets;
+    }
+
+    /**
+     * Send the latest state to stale viewers that came within the radius. Called at the end of every server tick
+     */
+    public static void onServerTick(MinecraftServer server) {
+        if (STALE_VIEWERS.isEmpty() || server.getTickCount() % CATCH_UP_INTERVAL_TICKS != 0) {return;}
+        int radius = PotionBlender.getConfig().sync_radius;
+
+        Iterator<Map.Entry<BrewingCauldronBlockEntity, Set<UUID>>> entries = STALE_VIEWERS.entrySet().iterator();
+        while (entries.hasNext()) {
+            Map.Entry<BrewingCauldronBlockEntity, Set<UUID>> entry = entries.next();
+            BrewingCauldronBlockEntity cauldron = entry.getKey();
+            if (cauldron.isRemoved() || !(cauldron.getLevel() instanceof ServerLevel level)) {
+                entries.remove();
+                continue;
+            }
+
+            List<ServerPlayer> tracking = getTrackingPlayers(level, cauldron.getBlockPos());
+            List<ServerPlayer> caughtUp = new ArrayList<>();
+            entry.getValue().removeIf(uuid -> {
+                ServerPlayer player = server.getPlayerList().getPlayer(uuid);
+                if (player == null || !tracking.contains(player)) {
+                    return true;
+                }
+                if (radius <= 0 || isInRange(player, cauldron.getBlockPos(), radius)) {
+                    caughtUp.add(player);
+                    return true;
+                }
+                return false;
+            });
+            if (!caughtUp.isEmpty()) {
+                cauldron.syncWith(caughtUp);
+                PotionBlenderMetrics.SYNC_CATCH_UPS.add(caughtUp.size());
+            }
+            if (entry.getValue().isEmpty()) {
+                entries.remove();
+            }
+        }
+    }
+
+    public static void onServerStopped() {
+        STALE_VIEWERS.clear();
+    }
+
+    private static List<ServerPlayer> getTrackingPlayers(ServerLevel level, BlockPos pos) {
+        return level.getChunkSource().chunkMap.getPlayers(new ChunkPos(pos), false);
+    }
+
+    private static boolean isInRange(ServerPlayer player, BlockPos pos, int radius) {
+        return player.distanceToSqr(pos.getX() + 0.5, pos.getY() + 0.5, pos.getZ() + 0.5) <= (double) radius * radius;
+    }
+}
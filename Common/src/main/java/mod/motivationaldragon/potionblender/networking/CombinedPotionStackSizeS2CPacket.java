@@ -0,0 +1,32 @@
+package mod.motivationaldragon.potionblender.networking;
+
+import mod.motivationaldragon.potionblender.Constants;
+import mod.motivationaldragon.potionblender.item.ModItem;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.resources.ResourceLocation;
+
+/**
+ * Send the stack size of combined potions to clients, so their inventories agree with the server whatever their own config says
+ */
+public record CombinedPotionStackSizeS2CPacket(int stackSize) implements PotionBlenderPacket {
+
+	public static final ResourceLocation fabricChannel = new ResourceLocation(Constants.MOD_ID, "combined_potion_stack_size");
+
+	@Override
+	public void encode(FriendlyByteBuf buf) {
+		buf.writeVarInt(stackSize);
+	}
+
+	public static CombinedPotionStackSizeS2CPacket decode(FriendlyByteBuf buf) {
+		return new CombinedPotionStackSizeS2CPacket(buf.readVarInt());
+	}
+
+	public static void handle(CombinedPotionStackSizeS2CPacket packet) {
+		ModItem.setCombinedPotionStackSize(packet.stackSize());
+	}
+
+	@Override
+	public ResourceLocation getFabricId() {
+		return fabricChannel;
+	}
+}
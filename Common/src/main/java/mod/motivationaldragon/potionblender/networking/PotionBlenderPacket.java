@@ -1,8 +1,11 @@
 package mod.motivationaldragon.potionblender.networking;
 
+import net.minecraft.network.FriendlyByteBuf;
 import net.minecraft.resources.ResourceLocation;
 
 public interface PotionBlenderPacket {
 
+    void encode(FriendlyByteBuf buf);
+
     ResourceLocation getFabricId();
 }
@@ -1,7 +1,9 @@
 package mod.motivationaldragon.potionblender.platform.service;
 
 import mod.motivationaldragon.potionblender.blockentities.BrewingCauldronBlockEntity;
+import mod.motivationaldragon.potionblender.networking.PotionBlenderPacket;
 import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.level.block.entity.BlockEntity;
 import net.minecraft.world.level.block.entity.BlockEntityType;
 import net.minecraft.world.level.block.state.BlockState;
@@ -20,6 +22,11 @@ public abstract class PlatformSpecificHelper {
     public abstract boolean isFabric();
     public abstract boolean isForge();
 
+    /**
+     * Send a packet to a single player
+     */
+    public abstract void sendToPlayer(ServerPlayer player, PotionBlenderPacket packet);
+
     protected PlatformSpecificHelper(BlockEntityType<? extends BrewingCauldronBlockEntity> brewingCauldron, BiFunction<BlockPos, BlockState, BlockEntity> brewingCauldronConstructor) {
         this.brewingCauldron = brewingCauldron;
         this.brewingCauldronConstructor = brewingCauldronConstructor;
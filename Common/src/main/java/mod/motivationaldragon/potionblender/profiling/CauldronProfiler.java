@@ -0,0 +1,190 @@
+package mod.motivationaldragon.potionblender.profiling;
+
+import mod.motivationaldragon.potionblender.Constants;
+import mod.motivationaldragon.potionblender.blockentities.BrewingCauldronBlockEntity;
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.core.BlockPos;
+import net.minecraft.network.chat.Component;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.Level;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sampling profiler started by {@code /potionblender profile <seconds>}.
+ * It times cauldron operations per block position and reports the most expensive cauldrons, chunks and players.
+ * <p>
+ * Off by default: when no session is running, {@link #enter()} and {@link #exit} only read a volatile field.
+ * Operations are only recorded from the server thread.
+ */
+public class CauldronProfiler {
+
+    public enum Operation { LAND, CRAFT, EXPLODE, SYNC }
+
+    private static final int REPORT_SIZE = 5;
+
+    private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "Potion-Blender profiler");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Nullable
+    private static volatile Session session;
+
+    private CauldronProfiler(){
+        throw new IllegalStateException("Utility class");
+    }
+
+    public static boolean isRunning() {
+        return session != null;
+    }
+
+    /**
+     * Start profiling for the given duration, then send the report to {@code source}
+     * @return false if a session is already running
+     */
+    public static synchronized boolean start(CommandSourceStack source, int seconds) {
+        if (session != null) {return false;}
+        MinecraftServer server = source.getServer();
+        Session started = new Session();
+        session = started;
+        SCHEDULER.schedule(() -> server.execute(() -> {
+            session = null;
+            started.report(source, seconds);
+        }), seconds, TimeUnit.SECONDS);
+        Constants.LOG.info("Started cauldron profiling for {}s", seconds);
+        return true;
+    }
+
+    /**
+     * Mark the start of a profiled operation
+     * @return the value to pass to {@link #exit}, 0 if the profiler is not running
+     */
+    public static long enter() {
+        Session current = session;
+        if (current == null) {return 0;}
+        current.depth++;
+        return System.nanoTime();
+    }
+
+    /**
+     * Mark the end of a profiled operation
+     * @param startNanos the value returned by {@link #enter()}
+     * @param player the player responsible for the operation, if known
+     */
+    public static void exit(long startNanos, Operation operation, BrewingCauldronBlockEntity cauldron, @Nullable UUID player) {
+        if (startNanos == 0) {return;}
+        Session current = session;
+        if (current == null) {return;}
+        current.record(operation, cauldron, player, System.nanoTime() - startNanos);
+    }
+
+    private record Location(ResourceKey<Level> dimension, long pos) {}
+
+    private static class PositionStats {
+        private final Map<Operation, Long> nanosPerOperation = new EnumMap<>(Operation.class);
+        private final Map<Operation, Integer> callsPerOperation = new EnumMap<>(Operation.class);
+        /**
+         * Time spent in top level operations only, so nested operations are not counted twice
+         */
+        private long totalNanos;
+        private long retainedBytes;
+    }
+
+    private static class Session {
+        private final Map<Location, PositionStats> positions = new HashMap<>();
+        private final Map<UUID, Long> nanosPerPlayer = new HashMap<>();
+        private int depth;
+
+        private void record(Operation operation, BrewingCauldronBlockEntity cauldron, @Nullable UUID player, long nanos) {
+            depth--;
+            if (cauldron.getLevel() == null) {return;}
+
+            Location location = new Location(cauldron.getLevel().dimension(), cauldron.getBlockPos().asLong());
+            PositionStats stats = positions.computeIfAbsent(location, l -> new PositionStats());
+            stats.nanosPerOperation.merge(operation, nanos, Long::sum);
+            stats.callsPerOperation.merge(operation, 1, Integer::sum);
+            stats.retainedBytes = cauldron.estimateRetainedBytes();
+
+            if (depth == 0) {
+                stats.totalNanos += nanos;
+                if (player != null) {
+                    nanosPerPlayer.merge(player, nanos, Long::sum);
+                }
+            }
+        }
+
+        private void report(CommandSourceStack source, int seconds) {
+            send(source, "Cauldron profile over %ds, %d cauldrons involved".formatted(seconds, positions.size()));
+
+            send(source, "Hottest cauldrons:");
+            positions.entrySet().stream()
+                    .sorted(Comparator.comparingLong((Map.Entry<Location, PositionStats> e) -> e.getValue().totalNanos).reversed())
+                    .limit(REPORT_SIZE)
+                    .forEach(e -> send(source, " %s %s: %s, ~%d bytes retained %s".formatted(
+                            e.getKey().dimension().location(), BlockPos.of(e.getKey().pos()).toShortString(),
+                            formatNanos(e.getValue().totalNanos), e.getValue().retainedBytes, formatOperations(e.getValue()))));
+
+            Map<String, Long> nanosPerChunk = new HashMap<>();
+            positions.forEach((location, stats) -> nanosPerChunk.merge(location.dimension().location() + " " +
+                    new ChunkPos(BlockPos.of(location.pos())), stats.totalNanos, Long::sum));
+            send(source, "Hottest chunks:");
+            sortedByValue(nanosPerChunk).forEach(e -> send(source, " %s: %s".formatted(e.getKey(), formatNanos(e.getValue()))));
+
+            Map<String, Long> nanosPerPlayerName = new HashMap<>();
+            nanosPerPlayer.forEach((uuid, nanos) -> nanosPerPlayerName.merge(playerName(source.getServer(), uuid), nanos, Long::sum));
+            send(source, "Players by cost:");
+            sortedByValue(nanosPerPlayerName).forEach(e -> send(source, " %s: %s".formatted(e.getKey(), formatNanos(e.getValue()))));
+        }
+
+        private static List<Map.Entry<String, Long>> sortedByValue(Map<String, Long> map) {
+            return map.entrySet().stream()
+                    .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                    .limit(REPORT_SIZE)
+                    .toList();
+        }
+
+        private static String formatOperations(PositionStats stats) {
+            StringBuilder builder = new StringBuilder("[");
+            stats.nanosPerOperation.forEach((operation, nanos) -> {
+                if (builder.length() > 1) {builder.append(", ");}
+                builder.append(operation.name().toLowerCase()).append(' ')
+                        .append(stats.callsPerOperation.get(operation)).append("x ")
+                        .append(formatNanos(nanos));
+            });
+            return builder.append(']').toString();
+        }
+
+        private static String playerName(MinecraftServer server, UUID uuid) {
+            ServerPlayer player = server.getPlayerList().getPlayer(uuid);
+            if (player != null) {
+                return player.getGameProfile().getName();
+            }
+            if (server.getProfileCache() != null) {
+                return server.getProfileCache().get(uuid).map(profile -> profile.getName()).orElse(uuid.toString());
+            }
+            return uuid.toString();
+        }
+
+        private static String formatNanos(long nanos) {
+            return "%.3fms".formatted(nanos / 1_000_000d);
+        }
+
+        private static void send(CommandSourceStack source, String line) {
+            source.sendSuccess(Component.literal(line), false);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package mod.motivationaldragon.potionblender.profiling;
+
+import mod.motivationaldragon.potionblender.blockentities.StoredPotion;
+import net.minecraft.nbt.ByteArrayTag;
+import net.minecraft.nbt.CollectionTag;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.IntArrayTag;
+import net.minecraft.nbt.LongArrayTag;
+import net.minecraft.nbt.StringTag;
+import net.minecraft.nbt.Tag;
+import net.minecraft.world.item.ItemStack;
+
+import java.util.List;
+
+/**
+ * Rough estimate of the heap retained by cauldron data, assuming a 64-bit JVM with compressed oops.
+ * The numbers are approximations meant to compare cauldrons with each other, not exact measurements.
+ */
+public class RetainedSizeEstimator {
+
+    private static final int OBJECT_HEADER = 16;
+    private static final int REFERENCE = 4;
+    private static final int HASH_MAP = 48;
+    private static final int HASH_MAP_ENTRY = 32;
+    private static final int STRING = 24 + OBJECT_HEADER;
+    private static final int ITEM_STACK = 48;
+    private static final int MOB_EFFECT_INSTANCE = 48;
+
+    private RetainedSizeEstimator(){
+        throw new IllegalStateException("Utility class");
+    }
+
+    public static long estimate(List<ItemStack> stacks) {
+        long size = OBJECT_HEADER + (long) REFERENCE * stacks.size();
+        for (ItemStack stack : stacks) {
+            if (stack.isEmpty()) {continue;}
+            size += ITEM_STACK;
+            if (stack.getTag() != null) {
+                size += estimate(stack.getTag());
+            }
+        }
+        return size;
+    }
+
+    /**
+     * @param count the number of filled slots, the others are null
+     */
+    public static long estimate(StoredPotion[] potions, int count) {
+        long size = OBJECT_HEADER + (long) REFERENCE * potions.length;
+        for (int i = 0; i < count && i < potions.length; i++) {
+            StoredPotion potion = potions[i];
+            //Slots can share the same instance, counted once per slot as an upper bound
+            size += OBJECT_HEADER + REFERENCE * 3L;
+            size += (long) MOB_EFFECT_INSTANCE * potion.customEffects().size();
+            if (potion.original() != null) {
+                size += estimate(List.of(potion.original()));
+            }
+        }
+        return size;
+    }
+
+    public static long estimate(Tag tag) {
+        if (tag instanceof CompoundTag compound) {
+            long size = OBJECT_HEADER + HASH_MAP;
+            for (String key : compound.getAllKeys()) {
+                size += HASH_MAP_ENTRY + STRING + key.length();
+                Tag value = compound.get(key);
+                if (value != null) {
+                    size += estimate(value);
+                }
+            }
+            return size;
+        }
+        if (tag instanceof ByteArrayTag bytes) {
+            return OBJECT_HEADER * 2L + bytes.size();
+        }
+        if (tag instanceof IntArrayTag ints) {
+            return OBJECT_HEADER * 2L + (long) Integer.BYTES * ints.size();
+        }
+        if (tag instanceof LongArrayTag longs) {
+            return OBJECT_HEADER * 2L + (long) Long.BYTES * longs.size();
+        }
+        if (tag instanceof CollectionTag<?> list) {
+            long size = OBJECT_HEADER * 3L + (long) REFERENCE * list.size();
+            for (Tag element : list) {
+                size += estimate(element);
+            }
+            return size;
+        }
+        if (tag instanceof StringTag string) {
+            return OBJECT_HEADER + STRING + string.getAsString().length();
+        }
+        //Numeric tags
+        return OBJECT_HEADER + Long.BYTES;
+    }
+}
@@ -0,0 +1,20 @@
+package mod.motivationaldragon.potionblender.profiling.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("potionblender.CauldronCraft")
+@Label("Cauldron Craft")
+@Description("A combined potion was crafted in a brewing cauldron")
+public class CauldronCraftEvent extends CauldronEvent {
+
+    @Label("Result")
+    public String result;
+
+    @Label("Potions Used")
+    public int potionCount;
+
+    @Label("Effects")
+    public int effectCount;
+}
@@ -0,0 +1,37 @@
+package mod.motivationaldragon.potionblender.profiling.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import mod.motivationaldragon.potionblender.blockentities.BrewingCauldronBlockEntity;
+import net.minecraft.core.BlockPos;
+
+/**
+ * Base of the Java Flight Recorder events emitted for a cauldron.
+ * Events are cheap when no recording is running, fields are only filled when {@link #shouldCommit()} is true.
+ */
+@Category({"Minecraft", "Potion Blender"})
+public abstract class CauldronEvent extends Event {
+
+    @Label("Dimension")
+    protected String dimension;
+
+    @Label("X")
+    protected int x;
+
+    @Label("Y")
+    protected int y;
+
+    @Label("Z")
+    protected int z;
+
+    public void setCauldron(BrewingCauldronBlockEntity cauldron) {
+        BlockPos pos = cauldron.getBlockPos();
+        this.x = pos.getX();
+        this.y = pos.getY();
+        this.z = pos.getZ();
+        if (cauldron.getLevel() != null) {
+            this.dimension = cauldron.getLevel().dimension().location().toString();
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package mod.motivationaldragon.potionblender.profiling.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("potionblender.CauldronExplosion")
+@Label("Cauldron Explosion")
+@Description("A brewing cauldron exploded because a combined item was thrown in it")
+public class CauldronExplosionEvent extends CauldronEvent {
+
+    @Label("Nearby Players")
+    public int nearbyPlayers;
+}
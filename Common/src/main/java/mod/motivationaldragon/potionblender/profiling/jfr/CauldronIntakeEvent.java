@@ -0,0 +1,17 @@
+package mod.motivationaldragon.potionblender.profiling.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("potionblender.CauldronIntake")
+@Label("Cauldron Intake")
+@Description("A potion was added to a brewing cauldron")
+public class CauldronIntakeEvent extends CauldronEvent {
+
+    @Label("Potion Effects")
+    public int effectCount;
+
+    @Label("Potions In Cauldron")
+    public int potionCount;
+}
@@ -0,0 +1,20 @@
+package mod.motivationaldragon.potionblender.profiling.jfr;
+
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("potionblender.CauldronSync")
+@Label("Cauldron Sync")
+@Description("The state of a brewing cauldron was sent to clients")
+public class CauldronSyncEvent extends CauldronEvent {
+
+    @Label("Players")
+    public int players;
+
+    @Label("Payload Size")
+    @Description("Size of the packet payload sent to each player")
+    @DataAmount
+    public int payloadBytes;
+}
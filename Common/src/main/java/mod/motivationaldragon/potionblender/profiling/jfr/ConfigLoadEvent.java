@@ -0,0 +1,20 @@
+package mod.motivationaldragon.potionblender.profiling.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("potionblender.ConfigLoad")
+@Label("Config Load")
+@Description("The Potion Blender config file was read")
+@Category({"Minecraft", "Potion Blender"})
+public class ConfigLoadEvent extends Event {
+
+    @Label("Hot Reload")
+    public boolean reload;
+
+    @Label("Success")
+    public boolean success;
+}
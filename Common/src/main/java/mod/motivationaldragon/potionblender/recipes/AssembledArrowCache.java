@@ -0,0 +1,67 @@
+package mod.motivationaldragon.potionblender.recipes;
+
+import mod.motivationaldragon.potionblender.config.PotionBlender;
+import mod.motivationaldragon.potionblender.metrics.CacheStats;
+import mod.motivationaldragon.potionblender.metrics.PotionBlenderMetrics;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.world.item.ItemStack;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Least recently used cache of the arrows assembled by {@link CombinedTippedArrowRecipe}, keyed by the effects of the potion.
+ * Shift-click crafting assembles the same result many times in a row, so it is only built once.
+ * Results hold the full effect list, never a blend id, since ids belong to the registry of a single world.
+ * Its size is {@link mod.motivationaldragon.potionblender.config.ConfigInstance#arrow_recipe_cache_size}.
+ */
+class AssembledArrowCache {
+
+    private static final CacheStats STATS = PotionBlenderMetrics.cache("arrow_recipe");
+
+    /**
+     * @param potion the potion id of the stack, usually empty for combined potions
+     * @param effects copy of the custom effects tag of the potion
+     */
+    private record Key(String potion, ListTag effects) {}
+
+    private static final Map<Key, ItemStack> CACHE = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, ItemStack> eldest) {
+            return size() > PotionBlender.getConfig().arrow_recipe_cache_size;
+        }
+    };
+
+    private AssembledArrowCache(){
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * @param effects the custom effects tag of the potion, null if it has none
+     * @param assemble build the result on a cache miss
+     * @return a copy of the cached result, the caller may modify it
+     */
+    static ItemStack get(String potion, @Nullable ListTag effects, Supplier<ItemStack> assemble) {
+        if (effects == null || PotionBlender.getConfig().arrow_recipe_cache_size == 0) {
+            return assemble.get();
+        }
+        Key key = new Key(potion, effects);
+        ItemStack cached;
+        synchronized (CACHE) {
+            cached = CACHE.get(key);
+        }
+        if (cached != null) {
+            STATS.hit();
+            return cached.copy();
+        }
+        STATS.miss();
+        ItemStack assembled = assemble.get();
+        synchronized (CACHE) {
+            //The key is copied since the potion tag may change after crafting
+            CACHE.put(new Key(potion, effects.copy()), assembled.copy());
+        }
+        return assembled;
+    }
+}
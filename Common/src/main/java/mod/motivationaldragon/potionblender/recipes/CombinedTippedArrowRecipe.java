@@ -1,8 +1,12 @@
 package mod.motivationaldragon.potionblender.recipes;
 
+import mod.motivationaldragon.potionblender.blend.BlendRegistry;
+import mod.motivationaldragon.potionblender.blend.BlendTable;
 import mod.motivationaldragon.potionblender.item.ModItem;
 import mod.motivationaldragon.potionblender.utils.ModNBTKey;
 import net.minecraft.core.RegistryAccess;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.world.effect.MobEffectInstance;
 import net.minecraft.world.inventory.CraftingContainer;
@@ -20,6 +24,11 @@ import java.util.List;
 
 public class CombinedTippedArrowRecipe extends CustomRecipe {
 
+    /**
+     * Index of the center slot of a 3x3 grid, where the potion goes
+     */
+    private static final int POTION_SLOT = 4;
+
     public CombinedTippedArrowRecipe(ResourceLocation resourceLocation, CraftingBookCategory category) {
         super(resourceLocation, category);
     }
@@ -29,17 +38,13 @@ public class CombinedTippedArrowRecipe extends CustomRecipe {
         if (craftingInventory.getWidth() != 3 || craftingInventory.getHeight() != 3) {
             return false;
         }
-        for (int i = 0; i < craftingInventory.getWidth(); ++i) {
-            for (int j = 0; j < craftingInventory.getHeight(); ++j) {
-                ItemStack itemStack = craftingInventory.getItem(i + j * craftingInventory.getWidth());
-
-                if (i == 1 && j == 1) {
-                    if(!itemStack.is(ModItem.COMBINED_LINGERING_POTION)){
-                        return false;
-                    }
-                } else if (itemStack.isEmpty() || !itemStack.is(Items.ARROW)) {
-                    return false;
-                }
+        //Checked first since it rejects almost every grid
+        if (!craftingInventory.getItem(POTION_SLOT).is(ModItem.COMBINED_LINGERING_POTION)) {
+            return false;
+        }
+        for (int slot = 0; slot < craftingInventory.getContainerSize(); ++slot) {
+            if (slot != POTION_SLOT && !craftingInventory.getItem(slot).is(Items.ARROW)) {
+                return false;
             }
         }
         return true;
@@ -51,6 +56,18 @@ public class CombinedTippedArrowRecipe extends CustomRecipe {
         if (!potionItemStack.is(ModItem.COMBINED_LINGERING_POTION)) {
             return ItemStack.EMPTY;
         }
+        CompoundTag potionTag = potionItemStack.getTag();
+        ListTag effects = BlendTable.getEffectsTag(potionTag);
+        ItemStack arrows = potionTag == null || effects == null
+                ? assembleArrows(potionItemStack)
+                : AssembledArrowCache.get(potionTag.getString(PotionUtils.TAG_POTION), effects, () -> assembleArrows(potionItemStack));
+        //Interned after the cache, the blend id depends on the registry of the running world
+        BlendRegistry.internEffects(arrows);
+        return arrows;
+    }
+
+    @NotNull
+    private static ItemStack assembleArrows(ItemStack potionItemStack) {
         ItemStack craftedItemStack = new ItemStack(Items.TIPPED_ARROW, 8);
         PotionUtils.setPotion(craftedItemStack, PotionUtils.getPotion(potionItemStack));
 
@@ -66,7 +83,8 @@ public class CombinedTippedArrowRecipe extends CustomRecipe {
 
         assert craftedItemStack.getTag() != null;
 
-        craftedItemStack.getTag().putBoolean(ModNBTKey.FORCE_COLOR_RENDERING_KEY,true);
+        //Fired arrows use this color as is instead of deriving it from the effects, and only the color is sent to clients
+        craftedItemStack.getTag().putInt(PotionUtils.TAG_CUSTOM_POTION_COLOR, PotionUtils.getColor(statusEffectInstances));
         craftedItemStack.getTag().putBoolean(ModNBTKey.IS_TIPPED_ARROW_COMBINED_KEY,true);
 
         return craftedItemStack;
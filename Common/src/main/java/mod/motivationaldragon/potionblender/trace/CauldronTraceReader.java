@@ -0,0 +1,50 @@
+package mod.motivationaldragon.potionblender.trace;
+
+import mod.motivationaldragon.potionblender.Constants;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read a trace written by {@link CauldronTraceRecorder}
+ */
+public class CauldronTraceReader {
+
+    private CauldronTraceReader(){
+        throw new IllegalStateException("Utility class");
+    }
+
+    public record Trace(TraceFile.Header header, List<TraceRecord> records) {}
+
+    /**
+     * Read a whole trace. A truncated last record, left by a server that stopped while recording, is ignored
+     */
+    public static Trace read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.remaining() < TraceFile.HEADER_SIZE) {
+                throw new IOException("Trace file is too short");
+            }
+            TraceFile.Header header = TraceFile.Header.read(buffer);
+            List<TraceRecord> records = new ArrayList<>(buffer.remaining() / TraceRecord.SIZE);
+            int unknown = 0;
+            while (buffer.remaining() >= TraceRecord.SIZE) {
+                TraceRecord record = TraceRecord.read(buffer);
+                if (record == null) {
+                    unknown++;
+                } else {
+                    records.add(record);
+                }
+            }
+            if (unknown > 0) {
+                Constants.LOG.warn("Skipped {} records of unknown type in trace {}", unknown, path);
+            }
+            return new Trace(header, records);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package mod.motivationaldragon.potionblender.trace;
+
+import mod.motivationaldragon.potionblender.Constants;
+import mod.motivationaldragon.potionblender.blockentities.BrewingCauldronBlockEntity;
+import net.minecraft.SharedConstants;
+import net.minecraft.world.level.Level;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Opt-in recorder of cauldron interactions, started with {@code /potionblender trace start}.
+ * The server thread only pushes records to a {@link TraceRingBuffer}, a writer thread appends them to a trace file
+ * in the {@link TraceFile} format. When no trace is recorded, {@link #record} only reads a volatile field.
+ */
+public class CauldronTraceRecorder {
+
+    private static final int BUFFER_RECORDS = 1 << 16;
+    private static final int WRITE_BUFFER_BYTES = 1 << 16;
+    private static final long IDLE_PARK_NANOS = 1_000_000L;
+    private static final DateTimeFormatter FILE_NAME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm-ss");
+
+    @Nullable
+    private static volatile Recording recording;
+
+    private CauldronTraceRecorder(){
+        throw new IllegalStateException("Utility class");
+    }
+
+    public static boolean isRecording() {
+        return recording != null;
+    }
+
+    /**
+     * Start recording in a new file of {@link TraceFile#DIRECTORY}
+     * @return the trace file, or null if a trace is already recorded
+     */
+    @Nullable
+    public static synchronized Path start() throws IOException {
+        if (recording != null) {return null;}
+        Files.createDirectories(TraceFile.DIRECTORY);
+        Path path = TraceFile.DIRECTORY.resolve(LocalDateTime.now().format(FILE_NAME_FORMAT) + TraceFile.EXTENSION);
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+
+        ByteBuffer header = ByteBuffer.allocate(TraceFile.HEADER_SIZE);
+        new TraceFile.Header(SharedConstants.getCurrentVersion().getDataVersion().getVersion(), System.currentTimeMillis()).write(header);
+        header.flip();
+        while (header.hasRemaining()) {
+            channel.write(header);
+        }
+
+        Recording started = new Recording(path, channel);
+        recording = started;
+        started.writer.start();
+        Constants.LOG.info("Started recording cauldron trace to {}", path);
+        return path;
+    }
+
+    /**
+     * Stop recording. Records still buffered are written before the file is closed
+     * @return the stopped recording, or null if no trace was recorded
+     */
+    @Nullable
+    public static synchronized Recording stop() {
+        Recording stopped = recording;
+        if (stopped == null) {return null;}
+        recording = null;
+        stopped.running = false;
+        LockSupport.unpark(stopped.writer);
+        try {
+            stopped.writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        Constants.LOG.info("Stopped recording cauldron trace, {} records written, {} dropped", stopped.written, stopped.buffer.getDropped());
+        return stopped;
+    }
+
+    /**
+     * Record an interaction with a cauldron. Called from the server thread
+     * @param item raw registry id of the item involved, 0 if none
+     * @param argument depends on the type, see {@link TraceEventType}
+     */
+    public static void record(TraceEventType type, BrewingCauldronBlockEntity cauldron, int item, int argument) {
+        Recording current = recording;
+        if (current == null) {return;}
+        Level level = cauldron.getLevel();
+        if (level == null) {return;}
+        current.buffer.offer(new TraceRecord(level.getGameTime(), cauldron.getBlockPos().asLong(), type,
+                (short) cauldron.getNumberOfPotion(), level.dimension().location().hashCode(), item, argument));
+    }
+
+    public static class Recording {
+        private final Path path;
+        private final FileChannel channel;
+        private final TraceRingBuffer buffer = new TraceRingBuffer(BUFFER_RECORDS);
+        private final Thread writer;
+        private volatile boolean running = true;
+        private long written;
+
+        private Recording(Path path, FileChannel channel) {
+            this.path = path;
+            this.channel = channel;
+            this.writer = new Thread(this::writeLoop, "Potion-Blender trace writer");
+            this.writer.setDaemon(true);
+        }
+
+        public Path getPath() {
+            return path;
+        }
+
+        public long getWritten() {
+            return written;
+        }
+
+        public long getDropped() {
+            return buffer.getDropped();
+        }
+
+        private void writeLoop() {
+            ByteBuffer out = ByteBuffer.allocateDirect(WRITE_BUFFER_BYTES);
+            try (FileChannel output = channel) {
+                while (running || !buffer.isEmpty()) {
+                    TraceRecord record = buffer.poll();
+                    if (record != null) {
+                        record.write(out);
+                        written++;
+                        if (out.remaining() < TraceRecord.SIZE) {
+                            flush(output, out);
+                        }
+                    } else {
+                        //Nothing to write, flush what we have so the file is usable while recording
+                        flush(output, out);
+                        LockSupport.parkNanos(IDLE_PARK_NANOS);
+                    }
+                }
+                flush(output, out);
+            } catch (IOException e) {
+                Constants.LOG.error("Could not write cauldron trace to {}, recording stopped", path);
+                e.printStackTrace();
+                recording = null;
+            }
+        }
+
+        private static void flush(FileChannel output, ByteBuffer out) throws IOException {
+            out.flip();
+            while (out.hasRemaining()) {
+                output.write(out);
+            }
+            out.clear();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package mod.motivationaldragon.potionblender.trace;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Kind of cauldron interaction stored in a trace. The id is written in the trace file and must never change.
+ */
+public enum TraceEventType {
+    /**
+     * A potion was added. item is the potion item, argument the potion id
+     */
+    INTAKE(1),
+    /**
+     * A combined potion was crafted. item is the catalyst, argument the number of effects of the result
+     */
+    CRAFT(2),
+    /**
+     * The cauldron was emptied by a player. argument is the number of potions dropped
+     */
+    DROP(3),
+    /**
+     * The cauldron was overloaded. item is the combined item thrown in, argument the number of nearby players
+     */
+    EXPLODE(4),
+    /**
+     * The cauldron was synced with clients. argument is the payload size in bytes
+     */
+    SYNC(5);
+
+    private static final TraceEventType[] BY_ID = new TraceEventType[6];
+
+    static {
+        for (TraceEventType type : values()) {
+            BY_ID[type.id] = type;
+        }
+    }
+
+    private final byte id;
+
+    TraceEventType(int id) {
+        this.id = (byte) id;
+    }
+
+    public byte getId() {
+        return id;
+    }
+
+    @Nullable
+    public static TraceEventType byId(byte id) {
+        return id > 0 && id < BY_ID.length ? BY_ID[id] : null;
+    }
+}
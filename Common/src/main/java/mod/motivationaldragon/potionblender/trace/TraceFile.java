@@ -0,0 +1,55 @@
+package mod.motivationaldragon.potionblender.trace;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+
+/**
+ * Layout of a trace file: a fixed header followed by {@link TraceRecord#SIZE} bytes records until the end of the file.
+ * <pre>
+ * int   magic
+ * short format version
+ * short record size
+ * int   data version of the game that recorded the trace, raw registry ids are only valid for this version
+ * int   reserved
+ * long  time the recording started, in epoch milliseconds
+ * </pre>
+ */
+public class TraceFile {
+
+    public static final int MAGIC = 0x50425452; // PBTR
+    public static final short FORMAT_VERSION = 1;
+    public static final int HEADER_SIZE = 24;
+    public static final String EXTENSION = ".pbtrace";
+    public static final Path DIRECTORY = Path.of("potionblender", "traces");
+
+    private TraceFile(){
+        throw new IllegalStateException("Utility class");
+    }
+
+    public record Header(int dataVersion, long startEpochMillis) {
+
+        public void write(ByteBuffer buffer) {
+            buffer.putInt(MAGIC);
+            buffer.putShort(FORMAT_VERSION);
+            buffer.putShort((short) TraceRecord.SIZE);
+            buffer.putInt(dataVersion);
+            buffer.putInt(0);
+            buffer.putLong(startEpochMillis);
+        }
+
+        public static Header read(ByteBuffer buffer) throws IOException {
+            if (buffer.getInt() != MAGIC) {
+                throw new IOException("Not a cauldron trace");
+            }
+            short version = buffer.getShort();
+            short recordSize = buffer.getShort();
+            if (version != FORMAT_VERSION || recordSize != TraceRecord.SIZE) {
+                throw new IOException("Unsupported trace format %d with %d bytes records".formatted(version, recordSize));
+            }
+            int dataVersion = buffer.getInt();
+            buffer.getInt();
+            return new Header(dataVersion, buffer.getLong());
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package mod.motivationaldragon.potionblender.trace;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A single cauldron interaction of a trace, stored as a fixed size record so the file can be read and written
+ * without any parsing.
+ * @param gameTime the game time of the level when the interaction happened
+ * @param pos the cauldron position, as a {@link net.minecraft.core.BlockPos#asLong()}
+ * @param type the kind of interaction
+ * @param potionCount the number of potions in the cauldron after the interaction
+ * @param dimension hash of the dimension id, used to tell dimensions apart
+ * @param item raw registry id of the item involved, 0 if none
+ * @param argument depends on the type, see {@link TraceEventType}
+ */
+public record TraceRecord(long gameTime, long pos, @NotNull TraceEventType type, short potionCount, int dimension, int item,
+                          int argument) {
+
+    public static final int SIZE = 32;
+
+    public void write(@NotNull ByteBuffer buffer) {
+        buffer.putLong(gameTime);
+        buffer.putLong(pos);
+        buffer.put(type.getId());
+        buffer.put((byte) 0);
+        buffer.putShort(potionCount);
+        buffer.putInt(dimension);
+        buffer.putInt(item);
+        buffer.putInt(argument);
+    }
+
+    /**
+     * @return the next record of the buffer, or null if its type is unknown
+     */
+    @Nullable
+    public static TraceRecord read(@NotNull ByteBuffer buffer) {
+        long gameTime = buffer.getLong();
+        long pos = buffer.getLong();
+        TraceEventType type = TraceEventType.byId(buffer.get());
+        buffer.get();
+        short potionCount = buffer.getShort();
+        int dimension = buffer.getInt();
+        int item = buffer.getInt();
+        int argument = buffer.getInt();
+        return type == null ? null : new TraceRecord(gameTime, pos, type, potionCount, dimension, item, argument);
+    }
+}
@@ -0,0 +1,71 @@
+package mod.motivationaldragon.potionblender.trace;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded single producer, single consumer queue of {@link TraceRecord}.
+ * The server thread offers records without locking or allocating slots, the trace writer thread drains them.
+ * When the writer falls behind, new records are dropped rather than blocking the server.
+ */
+class TraceRingBuffer {
+
+    private final TraceRecord[] slots;
+    private final int mask;
+    /**
+     * Index of the next slot to read, only written by the consumer
+     */
+    private final AtomicLong head = new AtomicLong();
+    /**
+     * Index of the next slot to write, only written by the producer
+     */
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+
+    /**
+     * @param capacity the number of slots, rounded up to a power of two
+     */
+    TraceRingBuffer(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+        this.slots = new TraceRecord[size];
+        this.mask = size - 1;
+    }
+
+    /**
+     * Called from the producer thread only
+     * @return false if the buffer was full and the record was dropped
+     */
+    boolean offer(TraceRecord record) {
+        long currentTail = tail.get();
+        if (currentTail - head.get() >= slots.length) {
+            dropped.incrementAndGet();
+            return false;
+        }
+        slots[(int) (currentTail & mask)] = record;
+        tail.lazySet(currentTail + 1);
+        return true;
+    }
+
+    /**
+     * Called from the consumer thread only
+     * @return the oldest record, or null if the buffer is empty
+     */
+    TraceRecord poll() {
+        long currentHead = head.get();
+        if (currentHead >= tail.get()) {
+            return null;
+        }
+        int index = (int) (currentHead & mask);
+        TraceRecord record = slots[index];
+        slots[index] = null;
+        head.lazySet(currentHead + 1);
+        return record;
+    }
+
+    boolean isEmpty() {
+        return head.get() >= tail.get();
+    }
+
+    long getDropped() {
+        return dropped.get();
+    }
+}
@@ -0,0 +1,19 @@
+package mod.motivationaldragon.potionblender.utils;
+
+import net.minecraft.nbt.ListTag;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Implemented on {@link net.minecraft.world.entity.AreaEffectCloud} by mixin, remembers the effects of the combined
+ * lingering potion that spawned the cloud so equal clouds can be merged
+ */
+public interface BlendSignatureHolder {
+
+    /**
+     * @return the custom effects tag of the potion, null if the cloud was not spawned by a combined lingering potion
+     */
+    @Nullable
+    ListTag potionblender$getBlendSignature();
+
+    void potionblender$setBlendSignature(@Nullable ListTag signature);
+}
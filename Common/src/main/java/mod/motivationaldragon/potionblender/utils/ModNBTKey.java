@@ -6,6 +6,13 @@ import mod.motivationaldragon.potionblender.Constants;
  * Provide access for public nbt key
  */
 public class ModNBTKey {
+    /**
+     * Only found on combined arrows crafted before they stored their color, see {@link net.minecraft.world.item.alchemy.PotionUtils#TAG_CUSTOM_POTION_COLOR}
+     */
     public static final String FORCE_COLOR_RENDERING_KEY = Constants.MOD_ID + "_forceColorRendering";
     public static final String IS_TIPPED_ARROW_COMBINED_KEY  = Constants.MOD_ID + "_isTippedArrow";
+    /**
+     * Id of the blend of a combined item in the {@link mod.motivationaldragon.potionblender.blend.BlendRegistry}, replacing its custom effects
+     */
+    public static final String BLEND_ID_KEY = Constants.MOD_ID + "_blendId";
 }
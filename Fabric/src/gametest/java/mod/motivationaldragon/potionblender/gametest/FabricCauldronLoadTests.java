@@ -0,0 +1,45 @@
+package mod.motivationaldragon.potionblender.gametest;
+
+import mod.motivationaldragon.potionblender.Constants;
+import net.fabricmc.fabric.api.gametest.v1.FabricGameTest;
+import net.minecraft.gametest.framework.GameTest;
+import net.minecraft.gametest.framework.GameTestHelper;
+
+/**
+ * Load tests, only registered when the server is started with {@code -Dfabric-api.gametest}
+ * @see CauldronLoadTests
+ */
+public class FabricCauldronLoadTests implements FabricGameTest {
+
+	private static final String TEMPLATE = Constants.MOD_ID + ":" + CauldronLoadTests.TEMPLATE;
+
+	@GameTest(template = TEMPLATE, batch = CauldronLoadTests.INTAKE_BATCH, timeoutTicks = CauldronLoadTests.SCALE_TIMEOUT_TICKS)
+	public void intakeAndCraft(GameTestHelper helper) {
+		CauldronLoadTests.intakeAndCraft(helper);
+	}
+
+	@GameTest(template = TEMPLATE, batch = CauldronLoadTests.EXPLOSION_BATCH, timeoutTicks = CauldronLoadTests.SCALE_TIMEOUT_TICKS)
+	public void overloadExplosions(GameTestHelper helper) {
+		CauldronLoadTests.overloadExplosions(helper);
+	}
+
+	@GameTest(template = TEMPLATE, batch = CauldronLoadTests.TRACKED_BATCH, timeoutTicks = CauldronLoadTests.SCALE_TIMEOUT_TICKS)
+	public void trackedArea(GameTestHelper helper) {
+		CauldronLoadTests.trackedArea(helper);
+	}
+
+	@GameTest(template = TEMPLATE, batch = CauldronLoadTests.SOAK_BATCH, timeoutTicks = CauldronLoadTests.SOAK_TIMEOUT_TICKS)
+	public void soak(GameTestHelper helper) {
+		CauldronLoadTests.soak(helper);
+	}
+
+	@GameTest(template = TEMPLATE, batch = CauldronLoadTests.REPLAY_BATCH, timeoutTicks = CauldronLoadTests.SOAK_TIMEOUT_TICKS)
+	public void replayTrace(GameTestHelper helper) {
+		CauldronTraceReplay.replay(helper);
+	}
+
+	@GameTest(template = TEMPLATE, batch = CombinedSplashTests.BATCH, timeoutTicks = CombinedSplashTests.TIMEOUT_TICKS)
+	public void combinedSplashMatchesVanilla(GameTestHelper helper) {
+		CombinedSplashTests.matchesVanilla(helper);
+	}
+}
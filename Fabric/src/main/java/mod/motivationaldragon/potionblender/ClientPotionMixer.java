@@ -1,8 +1,10 @@
 package mod.motivationaldragon.potionblender;
 
 import mod.motivationaldragon.potionblender.client.ModColorProvider;
+import mod.motivationaldragon.potionblender.item.ModItem;
 import mod.motivationaldragon.potionblender.networking.ModNetworkRegisterer;
 import net.fabricmc.api.ClientModInitializer;
+import net.fabricmc.fabric.api.client.networking.v1.ClientPlayConnectionEvents;
 
 public class ClientPotionMixer implements ClientModInitializer {
 
@@ -10,5 +12,6 @@ public class ClientPotionMixer implements ClientModInitializer {
     public void onInitializeClient() {
         ModColorProvider.registerColorProvider();
         ModNetworkRegisterer.registerS2CPackets();
+        ClientPlayConnectionEvents.DISCONNECT.register((handler, client) -> ModItem.onClientDisconnect());
     }
 }
@@ -1,12 +1,22 @@
 package mod.motivationaldragon.potionblender;
 
+import mod.motivationaldragon.potionblender.blend.BlendRegistry;
 import mod.motivationaldragon.potionblender.block.PotionBlenderBlock;
+import mod.motivationaldragon.potionblender.blockentities.CauldronIndex;
+import mod.motivationaldragon.potionblender.blockentities.ExplosionThrottle;
+import mod.motivationaldragon.potionblender.blockentities.LoadGovernor;
 import mod.motivationaldragon.potionblender.blockentity.FabricBlockEntities;
+import mod.motivationaldragon.potionblender.command.PotionBlenderCommand;
 import mod.motivationaldragon.potionblender.event.OnUseBlockFabric;
 import mod.motivationaldragon.potionblender.item.ModItem;
+import mod.motivationaldragon.potionblender.networking.CauldronSyncInterest;
 import mod.motivationaldragon.potionblender.recipes.PotionBlenderSpecialRecipeSerializer;
 import net.fabricmc.api.ModInitializer;
+import net.fabricmc.fabric.api.command.v2.CommandRegistrationCallback;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
 import net.fabricmc.fabric.api.itemgroup.v1.ItemGroupEvents;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayConnectionEvents;
 import net.minecraft.core.Registry;
 import net.minecraft.core.registries.BuiltInRegistries;
 import net.minecraft.resources.ResourceLocation;
@@ -30,6 +40,24 @@ public class FabricPotionBlender implements ModInitializer {
 
 		FabricBlockEntities.init();
 		OnUseBlockFabric.registerHandler();
+		CommandRegistrationCallback.EVENT.register((dispatcher, registryAccess, environment) -> PotionBlenderCommand.register(dispatcher));
+
+		ServerLifecycleEvents.SERVER_STARTED.register(BlendRegistry::onServerStarted);
+		ServerLifecycleEvents.SERVER_STOPPED.register(server -> {
+			BlendRegistry.onServerStopped();
+			CauldronSyncInterest.onServerStopped();
+			CauldronIndex.onServerStopped();
+			ExplosionThrottle.onServerStopped();
+			LoadGovernor.onServerStopped();
+		});
+		ServerTickEvents.END_SERVER_TICK.register(server -> {
+			LoadGovernor.onServerTick(server);
+			CauldronSyncInterest.onServerTick(server);
+		});
+		ServerPlayConnectionEvents.JOIN.register((handler, sender, server) -> {
+			BlendRegistry.onPlayerJoin(handler.getPlayer());
+			ModItem.onPlayerJoin(handler.getPlayer());
+		});
 	}
 
 	private static <T> BiConsumer<T, ResourceLocation> bind(Registry<? super T> registry) {
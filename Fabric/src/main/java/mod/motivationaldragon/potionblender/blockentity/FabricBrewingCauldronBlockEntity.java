@@ -1,19 +1,20 @@
 package mod.motivationaldragon.potionblender.blockentity;
 
 import mod.motivationaldragon.potionblender.blockentities.BrewingCauldronBlockEntity;
+import mod.motivationaldragon.potionblender.metrics.PotionBlenderMetrics;
 import mod.motivationaldragon.potionblender.networking.BrewingCauldronInvSyncS2CPacket;
+import mod.motivationaldragon.potionblender.profiling.jfr.CauldronSyncEvent;
 import net.fabricmc.fabric.api.networking.v1.PacketByteBufs;
-import net.fabricmc.fabric.api.networking.v1.PlayerLookup;
 import net.fabricmc.fabric.api.networking.v1.ServerPlayNetworking;
 import net.fabricmc.fabric.api.rendering.data.v1.RenderAttachmentBlockEntity;
 import net.minecraft.core.BlockPos;
 import net.minecraft.network.FriendlyByteBuf;
-import net.minecraft.server.level.ServerLevel;
 import net.minecraft.server.level.ServerPlayer;
-import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.level.block.state.BlockState;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.List;
+
 public class FabricBrewingCauldronBlockEntity extends BrewingCauldronBlockEntity implements RenderAttachmentBlockEntity {
 
     public FabricBrewingCauldronBlockEntity(BlockPos pos, BlockState state) {
@@ -21,22 +22,28 @@ public class FabricBrewingCauldronBlockEntity extends BrewingCauldronBlockEntity
     }
 
     @Override
-    protected void syncInventoryWithClient() {
+    protected void syncInventoryWithClient(List<ServerPlayer> players) {
 
         assert this.getLevel() != null;
 
         if(this.getLevel().isClientSide()) {return;}
+        CauldronSyncEvent event = new CauldronSyncEvent();
+        event.begin();
 
         FriendlyByteBuf data = PacketByteBufs.create();
-        data.writeInt(this.size());
-        for (ItemStack stack : this.getInventory()) {
-            data.writeItem(stack);
-        }
-        data.writeBlockPos(getBlockPos());
+        new BrewingCauldronInvSyncS2CPacket(getBlockPos(), getVisualState()).encode(data);
 
-        for (ServerPlayer player : PlayerLookup.tracking((ServerLevel) this.getLevel(), this.getBlockPos())) {
+        for (ServerPlayer player : players) {
             ServerPlayNetworking.send(player, BrewingCauldronInvSyncS2CPacket.fabricChannel, data);
         }
+        PotionBlenderMetrics.recordSync(players.size(), data.readableBytes());
+
+        if (event.shouldCommit()) {
+            event.setCauldron(this);
+            event.players = players.size();
+            event.payloadBytes = data.readableBytes();
+            event.commit();
+        }
     }
 
     /**
@@ -15,6 +15,10 @@ public class ModNetworkRegisterer {
     public static void registerS2CPackets(){
         ClientPlayNetworking.registerGlobalReceiver(BrewingCauldronInvSyncS2CPacket.fabricChannel,
                 makeClientHandler(BrewingCauldronInvSyncS2CPacket::decode,BrewingCauldronInvSyncS2CPacket::handle));
+        ClientPlayNetworking.registerGlobalReceiver(BlendTableSyncS2CPacket.fabricChannel,
+                makeClientHandler(BlendTableSyncS2CPacket::decode,BlendTableSyncS2CPacket::handle));
+        ClientPlayNetworking.registerGlobalReceiver(CombinedPotionStackSizeS2CPacket.fabricChannel,
+                makeClientHandler(CombinedPotionStackSizeS2CPacket::decode,CombinedPotionStackSizeS2CPacket::handle));
     }
 
     private static <T> ClientPlayNetworking.PlayChannelHandler makeClientHandler(Function<FriendlyByteBuf, T> decoder, Consumer<T> handler){
@@ -2,7 +2,12 @@ package mod.motivationaldragon.potionblender.platform;
 
 import mod.motivationaldragon.potionblender.blockentity.FabricBrewingCauldronBlockEntity;
 import mod.motivationaldragon.potionblender.blockentity.FabricBlockEntities;
+import mod.motivationaldragon.potionblender.networking.PotionBlenderPacket;
 import mod.motivationaldragon.potionblender.platform.service.PlatformSpecificHelper;
+import net.fabricmc.fabric.api.networking.v1.PacketByteBufs;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayNetworking;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.server.level.ServerPlayer;
 
 public class FabricPlatformHelper extends PlatformSpecificHelper {
 
@@ -21,4 +26,11 @@ public class FabricPlatformHelper extends PlatformSpecificHelper {
         return false;
     }
 
+    @Override
+    public void sendToPlayer(ServerPlayer player, PotionBlenderPacket packet) {
+        FriendlyByteBuf data = PacketByteBufs.create();
+        packet.encode(data);
+        ServerPlayNetworking.send(player, packet.getFabricId(), data);
+    }
+
 }
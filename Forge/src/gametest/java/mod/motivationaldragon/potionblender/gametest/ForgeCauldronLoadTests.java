@@ -0,0 +1,50 @@
+package mod.motivationaldragon.potionblender.gametest;
+
+import mod.motivationaldragon.potionblender.Constants;
+import net.minecraft.gametest.framework.GameTest;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraftforge.gametest.GameTestHolder;
+import net.minecraftforge.gametest.PrefixGameTestTemplate;
+
+/**
+ * Load tests, only registered when {@code forge.enabledGameTestNamespaces} contains the mod id
+ * @see CauldronLoadTests
+ */
+@GameTestHolder(Constants.MOD_ID)
+@PrefixGameTestTemplate(false)
+public class ForgeCauldronLoadTests {
+
+	private ForgeCauldronLoadTests(){
+		throw new IllegalStateException("Utility class");
+	}
+
+	@GameTest(template = CauldronLoadTests.TEMPLATE, batch = CauldronLoadTests.INTAKE_BATCH, timeoutTicks = CauldronLoadTests.SCALE_TIMEOUT_TICKS)
+	public static void intakeAndCraft(GameTestHelper helper) {
+		CauldronLoadTests.intakeAndCraft(helper);
+	}
+
+	@GameTest(template = CauldronLoadTests.TEMPLATE, batch = CauldronLoadTests.EXPLOSION_BATCH, timeoutTicks = CauldronLoadTests.SCALE_TIMEOUT_TICKS)
+	public static void overloadExplosions(GameTestHelper helper) {
+		CauldronLoadTests.overloadExplosions(helper);
+	}
+
+	@GameTest(template = CauldronLoadTests.TEMPLATE, batch = CauldronLoadTests.TRACKED_BATCH, timeoutTicks = CauldronLoadTests.SCALE_TIMEOUT_TICKS)
+	public static void trackedArea(GameTestHelper helper) {
+		CauldronLoadTests.trackedArea(helper);
+	}
+
+	@GameTest(template = CauldronLoadTests.TEMPLATE, batch = CauldronLoadTests.SOAK_BATCH, timeoutTicks = CauldronLoadTests.SOAK_TIMEOUT_TICKS)
+	public static void soak(GameTestHelper helper) {
+		CauldronLoadTests.soak(helper);
+	}
+
+	@GameTest(template = CauldronLoadTests.TEMPLATE, batch = CauldronLoadTests.REPLAY_BATCH, timeoutTicks = CauldronLoadTests.SOAK_TIMEOUT_TICKS)
+	public static void replayTrace(GameTestHelper helper) {
+		CauldronTraceReplay.replay(helper);
+	}
+
+	@GameTest(template = CauldronLoadTests.TEMPLATE, batch = CombinedSplashTests.BATCH, timeoutTicks = CombinedSplashTests.TIMEOUT_TICKS)
+	public static void combinedSplashMatchesVanilla(GameTestHelper helper) {
+		CombinedSplashTests.matchesVanilla(helper);
+	}
+}
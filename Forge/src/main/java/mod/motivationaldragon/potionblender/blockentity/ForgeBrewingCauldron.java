@@ -1,13 +1,16 @@
 package mod.motivationaldragon.potionblender.blockentity;
 
 import mod.motivationaldragon.potionblender.blockentities.BrewingCauldronBlockEntity;
+import mod.motivationaldragon.potionblender.metrics.PotionBlenderMetrics;
 import mod.motivationaldragon.potionblender.networking.BrewingCauldronInvSyncS2CPacket;
 import mod.motivationaldragon.potionblender.networking.NetworkRegister;
+import mod.motivationaldragon.potionblender.profiling.jfr.CauldronSyncEvent;
 import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.level.block.state.BlockState;
 import net.minecraftforge.network.PacketDistributor;
 
-import java.util.Objects;
+import java.util.List;
 
 public class ForgeBrewingCauldron extends BrewingCauldronBlockEntity {
 
@@ -16,8 +19,20 @@ public class ForgeBrewingCauldron extends BrewingCauldronBlockEntity {
     }
 
     @Override
-    protected void syncInventoryWithClient() {
-        NetworkRegister.INSTANCE.send(PacketDistributor.TRACKING_CHUNK.with(()-> Objects.requireNonNull(level).getChunkAt(worldPosition)
-        ), new BrewingCauldronInvSyncS2CPacket(this.getInventory(), this.getBlockPos()));
+    protected void syncInventoryWithClient(List<ServerPlayer> players) {
+        CauldronSyncEvent event = new CauldronSyncEvent();
+        event.begin();
+        BrewingCauldronInvSyncS2CPacket packet = new BrewingCauldronInvSyncS2CPacket(this.getBlockPos(), this.getVisualState());
+        if (!players.isEmpty()) {
+            NetworkRegister.INSTANCE.send(PacketDistributor.NMLIST.with(() -> players.stream().map(player -> player.connection.connection).toList()), packet);
+        }
+        PotionBlenderMetrics.recordSync(players.size(), packet.encodedSize());
+
+        if (event.shouldCommit()) {
+            event.setCauldron(this);
+            event.players = players.size();
+            event.payloadBytes = packet.encodedSize();
+            event.commit();
+        }
     }
 }
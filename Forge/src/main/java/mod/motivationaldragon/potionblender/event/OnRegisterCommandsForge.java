@@ -0,0 +1,15 @@
+package mod.motivationaldragon.potionblender.event;
+
+import mod.motivationaldragon.potionblender.Constants;
+import mod.motivationaldragon.potionblender.command.PotionBlenderCommand;
+import net.minecraftforge.event.RegisterCommandsEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+
+@Mod.EventBusSubscriber(modid = Constants.MOD_ID, bus = Mod.EventBusSubscriber.Bus.FORGE)
+public class OnRegisterCommandsForge {
+	@SubscribeEvent
+	public static void onRegisterCommands(RegisterCommandsEvent event){
+		PotionBlenderCommand.register(event.getDispatcher());
+	}
+}
@@ -0,0 +1,49 @@
+package mod.motivationaldragon.potionblender.event;
+
+import mod.motivationaldragon.potionblender.Constants;
+import mod.motivationaldragon.potionblender.blend.BlendRegistry;
+import mod.motivationaldragon.potionblender.blockentities.CauldronIndex;
+import mod.motivationaldragon.potionblender.blockentities.ExplosionThrottle;
+import mod.motivationaldragon.potionblender.blockentities.LoadGovernor;
+import mod.motivationaldragon.potionblender.item.ModItem;
+import mod.motivationaldragon.potionblender.networking.CauldronSyncInterest;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.entity.player.PlayerEvent;
+import net.minecraftforge.event.server.ServerStartedEvent;
+import net.minecraftforge.event.server.ServerStoppedEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+
+@Mod.EventBusSubscriber(modid = Constants.MOD_ID, bus = Mod.EventBusSubscriber.Bus.FORGE)
+public class OnServerLifecycleForge {
+	@SubscribeEvent
+	public static void onServerStarted(ServerStartedEvent event){
+		BlendRegistry.onServerStarted(event.getServer());
+	}
+
+	@SubscribeEvent
+	public static void onServerStopped(ServerStoppedEvent event){
+		BlendRegistry.onServerStopped();
+		CauldronSyncInterest.onServerStopped();
+		CauldronIndex.onServerStopped();
+		ExplosionThrottle.onServerStopped();
+		LoadGovernor.onServerStopped();
+	}
+
+	@SubscribeEvent
+	public static void onServerTick(TickEvent.ServerTickEvent event){
+		if (event.phase == TickEvent.Phase.END) {
+			LoadGovernor.onServerTick(event.getServer());
+			CauldronSyncInterest.onServerTick(event.getServer());
+		}
+	}
+
+	@SubscribeEvent
+	public static void onPlayerLoggedIn(PlayerEvent.PlayerLoggedInEvent event){
+		if (event.getEntity() instanceof ServerPlayer player) {
+			BlendRegistry.onPlayerJoin(player);
+			ModItem.onPlayerJoin(player);
+		}
+	}
+}
@@ -22,6 +22,10 @@ public class NetworkRegister {
         int i = 0;
         INSTANCE.registerMessage(i++, BrewingCauldronInvSyncS2CPacket.class, BrewingCauldronInvSyncS2CPacket::encode
         , BrewingCauldronInvSyncS2CPacket::decode, makeClientHandler(BrewingCauldronInvSyncS2CPacket::handle));
+        INSTANCE.registerMessage(i++, BlendTableSyncS2CPacket.class, BlendTableSyncS2CPacket::encode
+        , BlendTableSyncS2CPacket::decode, makeClientHandler(BlendTableSyncS2CPacket::handle));
+        INSTANCE.registerMessage(i++, CombinedPotionStackSizeS2CPacket.class, CombinedPotionStackSizeS2CPacket::encode
+        , CombinedPotionStackSizeS2CPacket::decode, makeClientHandler(CombinedPotionStackSizeS2CPacket::handle));
     }
 
     private static <T> BiConsumer<T, Supplier<NetworkEvent.Context>> makeClientHandler(Consumer<T> consumer) {
@@ -2,7 +2,11 @@ package mod.motivationaldragon.potionblender.platform;
 
 import mod.motivationaldragon.potionblender.blockentity.ForgeBlockEntities;
 import mod.motivationaldragon.potionblender.blockentity.ForgeBrewingCauldron;
+import mod.motivationaldragon.potionblender.networking.NetworkRegister;
+import mod.motivationaldragon.potionblender.networking.PotionBlenderPacket;
 import mod.motivationaldragon.potionblender.platform.service.PlatformSpecificHelper;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraftforge.network.PacketDistributor;
 
 public class ForgePlatformHelper extends PlatformSpecificHelper {
 
@@ -19,4 +23,9 @@ public class ForgePlatformHelper extends PlatformSpecificHelper {
     public boolean isForge() {
         return true;
     }
+
+    @Override
+    public void sendToPlayer(ServerPlayer player, PotionBlenderPacket packet) {
+        NetworkRegister.INSTANCE.send(PacketDistributor.PLAYER.with(() -> player), packet);
+    }
 }
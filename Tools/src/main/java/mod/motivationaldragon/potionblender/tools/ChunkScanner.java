@@ -0,0 +1,186 @@
+package mod.motivationaldragon.potionblender.tools;
+
+import mod.motivationaldragon.potionblender.tools.Nbt.NbtList;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Find the cauldrons and combined items of a chunk and optionally convert legacy cauldrons.
+ * <p>
+ * The keys mirror the mod: {@code BrewingCauldronBlockEntity} for the legacy layout, {@code CauldronContentsCodec}
+ * for the compact one and {@code ModNBTKey} for combined arrows.
+ */
+public class ChunkScanner {
+
+    private static final String CAULDRON_ID = "potionblender:potion_mixer";
+    private static final Set<String> COMBINED_POTIONS = Set.of(
+            "potionblender:combined_potion",
+            "potionblender:splash_combined_potion",
+            "potionblender:lingering_combined_potion");
+    private static final String TIPPED_ARROW = "minecraft:tipped_arrow";
+    private static final String COMBINED_ARROW_KEY = "potionblender_isTippedArrow";
+
+    private static final String LEGACY_ITEMS_KEY = "Items";
+    private static final String LEGACY_COUNT_KEY = "potionblender.PotionBlender";
+    private static final String SLOT_KEY = "Slot";
+
+    private static final String CONTENTS_KEY = "Contents";
+    private static final String VERSION_KEY = "Version";
+    private static final String PALETTE_KEY = "Palette";
+    private static final String SLOTS_KEY = "Slots";
+    private static final int FORMAT_VERSION = 1;
+    private static final int MAX_BYTE_PALETTE_SIZE = 256;
+
+    private ChunkScanner(){
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * @param chunk a chunk from a {@code region} or {@code entities} file
+     * @param migrate convert legacy cauldrons to the compact format
+     * @return true if the chunk was modified
+     */
+    public static boolean scan(Map<String, Object> chunk, ScanReport report, boolean migrate) {
+        report.chunks++;
+        //Chunks saved before 1.18 keep everything under Level
+        Map<String, Object> level = Nbt.getCompound(chunk, "Level");
+        Map<String, Object> data = level != null ? level : chunk;
+
+        boolean modified = false;
+        for (Map<String, Object> blockEntity : compounds(data, "block_entities", "TileEntities")) {
+            if (CAULDRON_ID.equals(blockEntity.get("id"))) {
+                modified |= scanCauldron(blockEntity, report, migrate);
+            }
+            findCombinedItems(blockEntity, report);
+        }
+        for (Map<String, Object> entity : compounds(data, "Entities")) {
+            findCombinedItems(entity, report);
+        }
+        return modified;
+    }
+
+    private static List<Map<String, Object>> compounds(Map<String, Object> data, String... keys) {
+        List<Map<String, Object>> compounds = new ArrayList<>();
+        for (String key : keys) {
+            NbtList list = Nbt.getList(data, key);
+            if (list == null) {continue;}
+            for (Object element : list.elements()) {
+                if (element instanceof Map<?, ?>) {
+                    compounds.add(asCompound(element));
+                }
+            }
+        }
+        return compounds;
+    }
+
+    private static boolean scanCauldron(Map<String, Object> cauldron, ScanReport report, boolean migrate) {
+        report.cauldrons++;
+        long size = Nbt.sizeOf(cauldron);
+        report.cauldronBytes += size;
+
+        Map<String, Object> contents = Nbt.getCompound(cauldron, CONTENTS_KEY);
+        if (contents != null) {
+            Object slots = contents.get(SLOTS_KEY);
+            report.storedPotions += slots instanceof byte[] bytes ? bytes.length : slots instanceof int[] ints ? ints.length : 0;
+            return false;
+        }
+
+        report.legacyCauldrons++;
+        List<Map<String, Object>> potions = legacyPotions(cauldron);
+        report.storedPotions += potions.size();
+        if (!migrate) {return false;}
+
+        cauldron.remove(LEGACY_ITEMS_KEY);
+        cauldron.remove(LEGACY_COUNT_KEY);
+        cauldron.put(CONTENTS_KEY, encodeContents(potions));
+        report.migratedCauldrons++;
+        report.migratedBytesBefore += size;
+        report.migratedBytesAfter += Nbt.sizeOf(cauldron);
+        return true;
+    }
+
+    /**
+     * @return the potions of a legacy cauldron in slot order, without their slot key
+     */
+    private static List<Map<String, Object>> legacyPotions(Map<String, Object> cauldron) {
+        List<Map<String, Object>> items = compounds(cauldron, LEGACY_ITEMS_KEY);
+        items.sort(Comparator.comparingInt(item -> item.get(SLOT_KEY) instanceof Byte slot ? Byte.toUnsignedInt(slot) : 0));
+        List<Map<String, Object>> potions = new ArrayList<>(items.size());
+        for (Map<String, Object> item : items) {
+            Map<String, Object> potion = new LinkedHashMap<>(item);
+            potion.remove(SLOT_KEY);
+            potions.add(potion);
+        }
+        return potions;
+    }
+
+    /**
+     * Same layout as {@code CauldronContentsCodec.encode}. The water color and mix are left out, the mod computes them on first use
+     */
+    private static Map<String, Object> encodeContents(List<Map<String, Object>> potions) {
+        List<Object> palette = new ArrayList<>();
+        int[] slots = new int[potions.size()];
+        for (int i = 0; i < potions.size(); i++) {
+            int index = -1;
+            for (int j = 0; j < palette.size() && index < 0; j++) {
+                if (Nbt.deepEquals(palette.get(j), potions.get(i))) {
+                    index = j;
+                }
+            }
+            if (index < 0) {
+                index = palette.size();
+                palette.add(potions.get(i));
+            }
+            slots[i] = index;
+        }
+
+        Map<String, Object> contents = new LinkedHashMap<>();
+        contents.put(VERSION_KEY, FORMAT_VERSION);
+        contents.put(PALETTE_KEY, new NbtList(Nbt.TAG_COMPOUND, palette));
+        if (palette.size() > MAX_BYTE_PALETTE_SIZE) {
+            contents.put(SLOTS_KEY, slots);
+        } else {
+            byte[] packed = new byte[slots.length];
+            for (int i = 0; i < slots.length; i++) {
+                packed[i] = (byte) slots[i];
+            }
+            contents.put(SLOTS_KEY, packed);
+        }
+        return contents;
+    }
+
+    /**
+     * Walk a tag and count every combined item in it, including items nested in other items such as shulker boxes
+     */
+    private static void findCombinedItems(Object tag, ScanReport report) {
+        if (tag instanceof Map<?, ?>) {
+            Map<String, Object> compound = asCompound(tag);
+            if (compound.get("id") instanceof String id && compound.containsKey("Count") && isCombined(id, compound)) {
+                report.addCombinedItem(id, Nbt.sizeOf(compound));
+            }
+            for (Object value : compound.values()) {
+                findCombinedItems(value, report);
+            }
+        } else if (tag instanceof NbtList list && (list.elementType() == Nbt.TAG_COMPOUND || list.elementType() == Nbt.TAG_LIST)) {
+            for (Object element : list.elements()) {
+                findCombinedItems(element, report);
+            }
+        }
+    }
+
+    private static boolean isCombined(String id, Map<String, Object> item) {
+        if (COMBINED_POTIONS.contains(id)) {return true;}
+        Map<String, Object> tag = Nbt.getCompound(item, "tag");
+        return TIPPED_ARROW.equals(id) && tag != null && tag.containsKey(COMBINED_ARROW_KEY);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> asCompound(Object tag) {
+        return (Map<String, Object>) tag;
+    }
+}
@@ -0,0 +1,263 @@
+package mod.motivationaldragon.potionblender.tools;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Minimal reader and writer of the NBT format, so the tool does not depend on Minecraft.
+ * <p>
+ * Tags are plain Java values: {@code Byte}, {@code Short}, {@code Integer}, {@code Long}, {@code Float}, {@code Double},
+ * {@code byte[]}, {@code String}, {@link NbtList}, {@code Map<String, Object>} for compounds, {@code int[]} and {@code long[]}.
+ * Compounds keep their key order so a chunk is written back the way it was read.
+ */
+public class Nbt {
+
+    public static final int TAG_END = 0;
+    public static final int TAG_BYTE = 1;
+    public static final int TAG_SHORT = 2;
+    public static final int TAG_INT = 3;
+    public static final int TAG_LONG = 4;
+    public static final int TAG_FLOAT = 5;
+    public static final int TAG_DOUBLE = 6;
+    public static final int TAG_BYTE_ARRAY = 7;
+    public static final int TAG_STRING = 8;
+    public static final int TAG_LIST = 9;
+    public static final int TAG_COMPOUND = 10;
+    public static final int TAG_INT_ARRAY = 11;
+    public static final int TAG_LONG_ARRAY = 12;
+
+    /**
+     * Same limit as the game, deeper data is considered corrupted
+     */
+    private static final int MAX_DEPTH = 512;
+
+    /**
+     * A list tag. The element type is kept since it cannot be deduced from an empty list
+     */
+    public record NbtList(int elementType, List<Object> elements) {}
+
+    private Nbt(){
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Read a root compound, as stored in region files
+     */
+    public static Map<String, Object> read(DataInput in) throws IOException {
+        int type = in.readByte();
+        if (type != TAG_COMPOUND) {
+            throw new IOException("Root tag must be a compound, got type " + type);
+        }
+        in.readUTF();
+        return readCompound(in, 0);
+    }
+
+    /**
+     * Write a root compound with an empty name, as stored in region files
+     */
+    public static void write(DataOutput out, Map<String, Object> root) throws IOException {
+        out.writeByte(TAG_COMPOUND);
+        out.writeUTF("");
+        writePayload(out, root);
+    }
+
+    private static Map<String, Object> readCompound(DataInput in, int depth) throws IOException {
+        if (depth > MAX_DEPTH) {
+            throw new IOException("Tag is nested too deeply");
+        }
+        Map<String, Object> compound = new LinkedHashMap<>();
+        int type;
+        while ((type = in.readByte()) != TAG_END) {
+            String name = in.readUTF();
+            compound.put(name, readPayload(in, type, depth + 1));
+        }
+        return compound;
+    }
+
+    private static Object readPayload(DataInput in, int type, int depth) throws IOException {
+        switch (type) {
+            case TAG_BYTE: return in.readByte();
+            case TAG_SHORT: return in.readShort();
+            case TAG_INT: return in.readInt();
+            case TAG_LONG: return in.readLong();
+            case TAG_FLOAT: return in.readFloat();
+            case TAG_DOUBLE: return in.readDouble();
+            case TAG_BYTE_ARRAY: {
+                byte[] bytes = new byte[readLength(in)];
+                in.readFully(bytes);
+                return bytes;
+            }
+            case TAG_STRING: return in.readUTF();
+            case TAG_LIST: {
+                int elementType = in.readByte();
+                int length = readLength(in);
+                List<Object> elements = new ArrayList<>(Math.min(length, 1024));
+                for (int i = 0; i < length; i++) {
+                    elements.add(readPayload(in, elementType, depth + 1));
+                }
+                return new NbtList(elementType, elements);
+            }
+            case TAG_COMPOUND: return readCompound(in, depth);
+            case TAG_INT_ARRAY: {
+                int[] ints = new int[readLength(in)];
+                for (int i = 0; i < ints.length; i++) {
+                    ints[i] = in.readInt();
+                }
+                return ints;
+            }
+            case TAG_LONG_ARRAY: {
+                long[] longs = new long[readLength(in)];
+                for (int i = 0; i < longs.length; i++) {
+                    longs[i] = in.readLong();
+                }
+                return longs;
+            }
+            default: throw new IOException("Unknown tag type " + type);
+        }
+    }
+
+    private static int readLength(DataInput in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            throw new IOException("Negative tag length " + length);
+        }
+        return length;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void writePayload(DataOutput out, Object value) throws IOException {
+        if (value instanceof Byte b) {
+            out.writeByte(b);
+        } else if (value instanceof Short s) {
+            out.writeShort(s);
+        } else if (value instanceof Integer i) {
+            out.writeInt(i);
+        } else if (value instanceof Long l) {
+            out.writeLong(l);
+        } else if (value instanceof Float f) {
+            out.writeFloat(f);
+        } else if (value instanceof Double d) {
+            out.writeDouble(d);
+        } else if (value instanceof byte[] bytes) {
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        } else if (value instanceof String string) {
+            out.writeUTF(string);
+        } else if (value instanceof NbtList list) {
+            out.writeByte(list.elements().isEmpty() ? TAG_END : list.elementType());
+            out.writeInt(list.elements().size());
+            for (Object element : list.elements()) {
+                writePayload(out, element);
+            }
+        } else if (value instanceof Map<?, ?> compound) {
+            for (Map.Entry<String, Object> entry : ((Map<String, Object>) compound).entrySet()) {
+                out.writeByte(typeOf(entry.getValue()));
+                out.writeUTF(entry.getKey());
+                writePayload(out, entry.getValue());
+            }
+            out.writeByte(TAG_END);
+        } else if (value instanceof int[] ints) {
+            out.writeInt(ints.length);
+            for (int i : ints) {
+                out.writeInt(i);
+            }
+        } else if (value instanceof long[] longs) {
+            out.writeInt(longs.length);
+            for (long l : longs) {
+                out.writeLong(l);
+            }
+        } else {
+            throw new IOException("Not a tag: " + value);
+        }
+    }
+
+    public static int typeOf(Object value) {
+        if (value instanceof Byte) {return TAG_BYTE;}
+        if (value instanceof Short) {return TAG_SHORT;}
+        if (value instanceof Integer) {return TAG_INT;}
+        if (value instanceof Long) {return TAG_LONG;}
+        if (value instanceof Float) {return TAG_FLOAT;}
+        if (value instanceof Double) {return TAG_DOUBLE;}
+        if (value instanceof byte[]) {return TAG_BYTE_ARRAY;}
+        if (value instanceof String) {return TAG_STRING;}
+        if (value instanceof NbtList) {return TAG_LIST;}
+        if (value instanceof Map<?, ?>) {return TAG_COMPOUND;}
+        if (value instanceof int[]) {return TAG_INT_ARRAY;}
+        if (value instanceof long[]) {return TAG_LONG_ARRAY;}
+        throw new IllegalArgumentException("Not a tag: " + value);
+    }
+
+    /**
+     * @return the number of bytes the payload of the tag takes once serialized, without compression
+     */
+    public static long sizeOf(Object value) {
+        if (value instanceof Byte) {return Byte.BYTES;}
+        if (value instanceof Short) {return Short.BYTES;}
+        if (value instanceof Integer || value instanceof Float) {return Integer.BYTES;}
+        if (value instanceof Long || value instanceof Double) {return Long.BYTES;}
+        if (value instanceof byte[] bytes) {return Integer.BYTES + (long) bytes.length;}
+        if (value instanceof String string) {return Short.BYTES + (long) string.getBytes(StandardCharsets.UTF_8).length;}
+        if (value instanceof int[] ints) {return Integer.BYTES + (long) Integer.BYTES * ints.length;}
+        if (value instanceof long[] longs) {return Integer.BYTES + (long) Long.BYTES * longs.length;}
+        if (value instanceof NbtList list) {
+            long size = Byte.BYTES + Integer.BYTES;
+            for (Object element : list.elements()) {
+                size += sizeOf(element);
+            }
+            return size;
+        }
+        if (value instanceof Map<?, ?> compound) {
+            long size = Byte.BYTES;
+            for (Map.Entry<?, ?> entry : compound.entrySet()) {
+                size += Byte.BYTES + sizeOf(entry.getKey()) + sizeOf(entry.getValue());
+            }
+            return size;
+        }
+        throw new IllegalArgumentException("Not a tag: " + value);
+    }
+
+    /**
+     * Compare two tags by value, including the content of arrays
+     */
+    public static boolean deepEquals(Object a, Object b) {
+        if (a instanceof Map<?, ?> first && b instanceof Map<?, ?> second) {
+            if (first.size() != second.size()) {return false;}
+            for (Map.Entry<?, ?> entry : first.entrySet()) {
+                if (!second.containsKey(entry.getKey()) || !deepEquals(entry.getValue(), second.get(entry.getKey()))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        if (a instanceof NbtList first && b instanceof NbtList second) {
+            if (first.elements().size() != second.elements().size()) {return false;}
+            for (int i = 0; i < first.elements().size(); i++) {
+                if (!deepEquals(first.elements().get(i), second.elements().get(i))) {return false;}
+            }
+            return true;
+        }
+        return Arrays.deepEquals(new Object[]{a}, new Object[]{b});
+    }
+
+    /**
+     * @return the compound stored under {@code key}, or null if there is none
+     */
+    @SuppressWarnings("unchecked")
+    public static Map<String, Object> getCompound(Map<String, Object> compound, String key) {
+        return compound.get(key) instanceof Map<?, ?> value ? (Map<String, Object>) value : null;
+    }
+
+    /**
+     * @return the list stored under {@code key}, or null if there is none
+     */
+    public static NbtList getList(Map<String, Object> compound, String key) {
+        return compound.get(key) instanceof NbtList value ? value : null;
+    }
+}
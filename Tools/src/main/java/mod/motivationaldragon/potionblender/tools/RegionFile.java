@@ -0,0 +1,201 @@
+package mod.motivationaldragon.potionblender.tools;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Reader and writer of the Anvil region format ({@code r.<x>.<z>.mca}).
+ * <p>
+ * A region starts with a table of 1024 chunk locations and a table of 1024 timestamps, each 4KiB long.
+ * A chunk is stored in whole 4KiB sectors as its length, its compression type and its compressed NBT.
+ * Chunks too large for the region are stored in an external {@code c.<x>.<z>.mcc} file next to it.
+ * Files are read whole into memory rather than mapped, so nothing holds them open when a migrated region replaces them.
+ */
+public class RegionFile {
+
+    private static final int SECTOR_BYTES = 4096;
+    private static final int CHUNKS = 1024;
+    private static final int HEADER_SECTORS = 2;
+    private static final int MAX_SECTORS_PER_CHUNK = 255;
+
+    private static final int COMPRESSION_GZIP = 1;
+    private static final int COMPRESSION_ZLIB = 2;
+    private static final int COMPRESSION_NONE = 3;
+    private static final int EXTERNAL_FLAG = 128;
+
+    private static final Pattern REGION_NAME = Pattern.compile("r\\.(-?\\d+)\\.(-?\\d+)\\.mca");
+
+    /**
+     * @param index position of the chunk in the region, {@code x + z * 32}
+     * @param timestamp last time the chunk was saved, in seconds
+     * @param root the chunk tag
+     */
+    public record Chunk(int index, int timestamp, Map<String, Object> root) {}
+
+    private RegionFile(){
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Read every chunk of a region. Chunks that cannot be read are reported through {@code onCorruptChunk} and skipped
+     */
+    public static List<Chunk> read(Path path, ChunkErrorHandler onCorruptChunk) throws IOException {
+        List<Chunk> chunks = new ArrayList<>();
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(path));
+        if (buffer.capacity() < HEADER_SECTORS * SECTOR_BYTES) {
+            return chunks;
+        }
+        for (int index = 0; index < CHUNKS; index++) {
+            int location = buffer.getInt(index * Integer.BYTES);
+            if (location == 0) {continue;}
+            int timestamp = buffer.getInt(SECTOR_BYTES + index * Integer.BYTES);
+            try {
+                chunks.add(new Chunk(index, timestamp, readChunk(path, buffer, index, location)));
+            } catch (IOException | RuntimeException e) {
+                onCorruptChunk.onError(index, e);
+            }
+        }
+        return chunks;
+    }
+
+    private static Map<String, Object> readChunk(Path path, ByteBuffer buffer, int index, int location) throws IOException {
+        long offset = (long) (location >>> 8) * SECTOR_BYTES;
+        if (offset + Integer.BYTES + 1 > buffer.limit()) {
+            throw new IOException("Chunk is outside of the file");
+        }
+        int length = buffer.getInt((int) offset);
+        int compression = buffer.get((int) offset + Integer.BYTES);
+        if ((compression & EXTERNAL_FLAG) != 0) {
+            byte[] external = Files.readAllBytes(externalPath(path, index));
+            return decode(new ByteArrayInputStream(external), compression & ~EXTERNAL_FLAG);
+        }
+        if (length <= 1 || offset + Integer.BYTES + length > buffer.limit()) {
+            throw new IOException("Invalid chunk length " + length);
+        }
+        ByteBuffer data = buffer.slice((int) offset + Integer.BYTES + 1, length - 1);
+        return decode(new ByteBufferInputStream(data), compression);
+    }
+
+    private static Map<String, Object> decode(InputStream compressed, int compression) throws IOException {
+        InputStream in = switch (compression) {
+            case COMPRESSION_GZIP -> new GZIPInputStream(compressed);
+            case COMPRESSION_ZLIB -> new InflaterInputStream(compressed);
+            case COMPRESSION_NONE -> compressed;
+            default -> throw new IOException("Unknown compression type " + compression);
+        };
+        try (DataInputStream data = new DataInputStream(in)) {
+            return Nbt.read(data);
+        }
+    }
+
+    /**
+     * Write the chunks as a new region file, replacing the previous one once it is fully written.
+     * Chunks are compressed with zlib like the game does.
+     */
+    public static void write(Path path, List<Chunk> chunks) throws IOException {
+        int[] locations = new int[CHUNKS];
+        int[] timestamps = new int[CHUNKS];
+        ByteArrayOutputStream sectors = new ByteArrayOutputStream();
+        int nextSector = HEADER_SECTORS;
+
+        for (Chunk chunk : chunks) {
+            byte[] compressed = encode(chunk.root());
+            int compression = COMPRESSION_ZLIB;
+            int sectorCount = sectorsFor(Integer.BYTES + 1 + compressed.length);
+            if (sectorCount > MAX_SECTORS_PER_CHUNK) {
+                Files.write(externalPath(path, chunk.index()), compressed);
+                compressed = new byte[0];
+                compression |= EXTERNAL_FLAG;
+                sectorCount = 1;
+            }
+            DataOutputStream out = new DataOutputStream(sectors);
+            out.writeInt(compressed.length + 1);
+            out.writeByte(compression);
+            out.write(compressed);
+            out.write(new byte[sectorCount * SECTOR_BYTES - Integer.BYTES - 1 - compressed.length]);
+
+            locations[chunk.index()] = nextSector << 8 | sectorCount;
+            timestamps[chunk.index()] = chunk.timestamp();
+            nextSector += sectorCount;
+        }
+
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(temporary))) {
+            for (int location : locations) {
+                out.writeInt(location);
+            }
+            for (int timestamp : timestamps) {
+                out.writeInt(timestamp);
+            }
+            sectors.writeTo(out);
+        }
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static byte[] encode(Map<String, Object> root) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(new DeflaterOutputStream(bytes))) {
+            Nbt.write(out, root);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static int sectorsFor(int bytes) {
+        return (bytes + SECTOR_BYTES - 1) / SECTOR_BYTES;
+    }
+
+    private static Path externalPath(Path region, int index) throws IOException {
+        Matcher matcher = REGION_NAME.matcher(region.getFileName().toString());
+        if (!matcher.matches()) {
+            throw new IOException("Not a region file name: " + region.getFileName());
+        }
+        int chunkX = Integer.parseInt(matcher.group(1)) * 32 + (index & 31);
+        int chunkZ = Integer.parseInt(matcher.group(2)) * 32 + (index >> 5);
+        return region.resolveSibling("c.%d.%d.mcc".formatted(chunkX, chunkZ));
+    }
+
+    @FunctionalInterface
+    public interface ChunkErrorHandler {
+        void onError(int index, Exception error);
+    }
+
+    /**
+     * Stream over a slice of the region read in memory, so chunks are decompressed without copying them first
+     */
+    private static class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        private ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? Byte.toUnsignedInt(buffer.get()) : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (!buffer.hasRemaining()) {return -1;}
+            int read = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, read);
+            return read;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package mod.motivationaldragon.potionblender.tools;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Scan a range of region files, splitting it in halves until a single file is left
+ */
+public class RegionScanTask extends RecursiveTask<ScanReport> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final List<Path> regions;
+    private final int from;
+    private final int to;
+    private final boolean migrate;
+
+    public RegionScanTask(List<Path> regions, boolean migrate) {
+        this(regions, 0, regions.size(), migrate);
+    }
+
+    private RegionScanTask(List<Path> regions, int from, int to, boolean migrate) {
+        this.regions = regions;
+        this.from = from;
+        this.to = to;
+        this.migrate = migrate;
+    }
+
+    @Override
+    protected ScanReport compute() {
+        if (to - from <= 1) {
+            ScanReport report = new ScanReport();
+            if (from < to) {
+                scanRegion(regions.get(from), report);
+            }
+            return report;
+        }
+        int middle = (from + to) >>> 1;
+        RegionScanTask left = new RegionScanTask(regions, from, middle, migrate);
+        left.fork();
+        ScanReport right = new RegionScanTask(regions, middle, to, migrate).compute();
+        return left.join().merge(right);
+    }
+
+    private void scanRegion(Path region, ScanReport report) {
+        report.regions++;
+        try {
+            List<RegionFile.Chunk> chunks = RegionFile.read(region, (index, error) -> {
+                report.corruptChunks++;
+                System.err.printf("Skipped chunk %d of %s: %s%n", index, region, error);
+            });
+            boolean modified = false;
+            for (RegionFile.Chunk chunk : chunks) {
+                modified |= ChunkScanner.scan(chunk.root(), report, migrate);
+            }
+            if (modified) {
+                RegionFile.write(region, chunks);
+                report.rewrittenRegions++;
+            }
+        } catch (IOException e) {
+            report.failedRegions++;
+            System.err.printf("Could not process %s: %s%n", region, e);
+        }
+    }
+}
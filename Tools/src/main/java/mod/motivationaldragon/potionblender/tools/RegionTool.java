@@ -0,0 +1,95 @@
+package mod.motivationaldragon.potionblender.tools;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+
+/**
+ * Offline analysis and migration of the Potion Blender data of a world, run while the server is stopped:
+ * <pre>
+ * java -jar Potion-Blender-tools.jar &lt;world folder&gt; [--migrate] [--threads &lt;n&gt;]
+ * </pre>
+ * Every region file of every dimension is scanned for brewing cauldrons and combined items, and the totals are printed.
+ * With {@code --migrate}, cauldrons still saved in the legacy layout are rewritten to the compact one and
+ * the region files holding them are replaced.
+ * Combined items are only counted, never rewritten: they are saved as regular potion items and have no compact
+ * format to convert to.
+ */
+public class RegionTool {
+
+    private RegionTool(){
+        throw new IllegalStateException("Utility class");
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path world = null;
+        boolean migrate = false;
+        int threads = Runtime.getRuntime().availableProcessors();
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--migrate" -> migrate = true;
+                case "--threads" -> {
+                    if (i + 1 >= args.length) {usage("--threads needs a value");}
+                    threads = parseThreads(args[++i]);
+                }
+                default -> {
+                    if (world != null) {usage("Unexpected argument " + args[i]);}
+                    world = Path.of(args[i]);
+                }
+            }
+        }
+        if (world == null || !Files.isDirectory(world)) {
+            usage(world == null ? "Missing world folder" : "Not a folder: " + world);
+            return;
+        }
+
+        List<Path> regions = findRegions(world);
+        System.out.printf("Scanning %d region files with %d threads%s%n", regions.size(), threads, migrate ? ", migrating cauldrons" : "");
+        long start = System.nanoTime();
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        ScanReport report;
+        try {
+            report = pool.invoke(new RegionScanTask(regions, migrate));
+        } finally {
+            pool.shutdown();
+        }
+        report.print(System.out, migrate);
+        System.out.printf("Done in %.1fs%n", (System.nanoTime() - start) / 1_000_000_000d);
+    }
+
+    /**
+     * @return the block and entity region files of every dimension of the world
+     */
+    private static List<Path> findRegions(Path world) throws IOException {
+        try (Stream<Path> files = Files.walk(world)) {
+            return files
+                    .filter(path -> path.getFileName().toString().endsWith(".mca"))
+                    .filter(path -> {
+                        String folder = path.getParent().getFileName().toString();
+                        return folder.equals("region") || folder.equals("entities");
+                    })
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static int parseThreads(String value) {
+        try {
+            int threads = Integer.parseInt(value);
+            if (threads >= 1) {return threads;}
+        } catch (NumberFormatException e) {
+            //Reported below
+        }
+        usage("--threads must be a positive number, got " + value);
+        return 1;
+    }
+
+    private static void usage(String error) {
+        System.err.println(error);
+        System.err.println("Usage: java -jar Potion-Blender-tools.jar <world folder> [--migrate] [--threads <n>]");
+        System.exit(1);
+    }
+}
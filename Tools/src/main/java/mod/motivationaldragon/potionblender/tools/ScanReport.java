@@ -0,0 +1,68 @@
+package mod.motivationaldragon.potionblender.tools;
+
+import java.io.PrintStream;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Totals of a scan. Each region is scanned into its own report, reports are then merged
+ */
+public class ScanReport {
+
+    long regions;
+    long chunks;
+    long corruptChunks;
+    long failedRegions;
+
+    long cauldrons;
+    long legacyCauldrons;
+    long cauldronBytes;
+    long storedPotions;
+
+    final Map<String, Long> combinedItems = new TreeMap<>();
+    long combinedItemBytes;
+
+    long migratedCauldrons;
+    long migratedBytesBefore;
+    long migratedBytesAfter;
+    long rewrittenRegions;
+
+    void addCombinedItem(String id, long bytes) {
+        combinedItems.merge(id, 1L, Long::sum);
+        combinedItemBytes += bytes;
+    }
+
+    ScanReport merge(ScanReport other) {
+        regions += other.regions;
+        chunks += other.chunks;
+        corruptChunks += other.corruptChunks;
+        failedRegions += other.failedRegions;
+        cauldrons += other.cauldrons;
+        legacyCauldrons += other.legacyCauldrons;
+        cauldronBytes += other.cauldronBytes;
+        storedPotions += other.storedPotions;
+        other.combinedItems.forEach((id, count) -> combinedItems.merge(id, count, Long::sum));
+        combinedItemBytes += other.combinedItemBytes;
+        migratedCauldrons += other.migratedCauldrons;
+        migratedBytesBefore += other.migratedBytesBefore;
+        migratedBytesAfter += other.migratedBytesAfter;
+        rewrittenRegions += other.rewrittenRegions;
+        return this;
+    }
+
+    void print(PrintStream out, boolean migrate) {
+        out.printf("Regions: %d (%d unreadable), chunks: %d (%d unreadable)%n", regions, failedRegions, chunks, corruptChunks);
+        out.printf("Cauldrons: %d, %d in the legacy format, %d in the compact format%n",
+                cauldrons, legacyCauldrons, cauldrons - legacyCauldrons);
+        out.printf("Cauldron data: %d bytes, %d potions stored%n", cauldronBytes, storedPotions);
+        long combinedCount = combinedItems.values().stream().mapToLong(Long::longValue).sum();
+        out.printf("Combined items: %d stacks, %d bytes%n", combinedCount, combinedItemBytes);
+        combinedItems.forEach((id, count) -> out.printf("  %s: %d%n", id, count));
+        if (migrate) {
+            out.printf("Migrated cauldrons: %d, %d bytes before, %d bytes after, %d regions rewritten%n",
+                    migratedCauldrons, migratedBytesBefore, migratedBytesAfter, rewrittenRegions);
+        } else if (legacyCauldrons > 0) {
+            out.println("Run again with --migrate to convert legacy cauldrons to the compact format");
+        }
+    }
+}